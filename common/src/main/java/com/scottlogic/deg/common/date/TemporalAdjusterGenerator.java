@@ -18,6 +18,7 @@ package com.scottlogic.deg.common.date;
 
 import org.threeten.extra.Temporals;
 
+import java.io.Serializable;
 import java.time.Duration;
 import java.time.Period;
 import java.time.temporal.ChronoUnit;
@@ -25,7 +26,7 @@ import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAmount;
 import java.util.function.IntFunction;
 
-public class TemporalAdjusterGenerator {
+public class TemporalAdjusterGenerator implements Serializable {
 
     private final ChronoUnit chronoUnit;
 
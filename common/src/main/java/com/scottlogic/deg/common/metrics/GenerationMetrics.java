@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.common.metrics;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters and stage timers for a generation run, safe to update from any number of threads. They can be read while
+ * the run is going, e.g. to report progress, or once it has finished.
+ */
+public class GenerationMetrics {
+    private final LongAdder rowsEmitted = new LongAdder();
+    private final LongAdder pruningContradictions = new LongAdder();
+    private final List<LongSupplier> bytesWrittenCounters = new CopyOnWriteArrayList<>();
+    private final Map<GenerationStage, StageTimer> stageTimers = new EnumMap<>(GenerationStage.class);
+
+    public GenerationMetrics() {
+        for (GenerationStage stage : GenerationStage.values()) {
+            stageTimers.put(stage, new StageTimer(stage.getSampleRate()));
+        }
+    }
+
+    public void rowEmitted() {
+        rowsEmitted.increment();
+    }
+
+    public long getRowsEmitted() {
+        return rowsEmitted.sum();
+    }
+
+    /** Records that pruning the tree for a chosen option found the option contradicted the rest of the tree */
+    public void pruningContradiction() {
+        pruningContradictions.increment();
+    }
+
+    public long getPruningContradictions() {
+        return pruningContradictions.sum();
+    }
+
+    /** Adds the count of bytes written to one output, which is read each time the bytes written are reported */
+    public void addBytesWrittenCounter(LongSupplier counter) {
+        bytesWrittenCounters.add(counter);
+    }
+
+    public long getBytesWritten() {
+        long bytes = 0;
+        for (LongSupplier counter : bytesWrittenCounters) {
+            bytes += counter.getAsLong();
+        }
+        return bytes;
+    }
+
+    public StageTimer stage(GenerationStage stage) {
+        return stageTimers.get(stage);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.common.metrics;
+
+/**
+ * The parts of a generation run that are timed. Stages that run once per run are always timed; stages that run for
+ * every row or value only time a sample of their calls, and estimate the rest.
+ */
+public enum GenerationStage {
+    COMPILING(1),
+    TREE_SOLVING(64),
+    PRUNING(64),
+    VALUE_GENERATION(64),
+    MERGING(64),
+    // a call formats one row, and is timed when the row is sampled for writing
+    FORMATTING(64),
+    WRITING(64);
+
+    private final int sampleRate;
+
+    GenerationStage(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /** One call in this many is timed */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.common.metrics;
+
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Counts the calls to one stage of generation, and times a random sample of them. The counters are striped, so
+ * threads generating at the same time don't contend on them, and calls that aren't sampled cost one increment.
+ * Sampled times are also kept in a histogram of power-of-two buckets, so their distribution can be reported.
+ */
+public class StageTimer {
+    private static final int HISTOGRAM_BUCKETS = 64;
+
+    private final int sampleRate;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder sampledCalls = new LongAdder();
+    private final LongAdder sampledNanos = new LongAdder();
+    private final LongAdder[] histogram = new LongAdder[HISTOGRAM_BUCKETS];
+
+    public StageTimer(int sampleRate) {
+        this.sampleRate = sampleRate;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            histogram[i] = new LongAdder();
+        }
+    }
+
+    public <T> T time(Supplier<T> work) {
+        if (!sample()) {
+            return work.get();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    public void run(Runnable work) {
+        time(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times producing each element of the stream. Only the stream's own work is timed, not whatever consumes the
+     * element downstream.
+     */
+    public <T> Stream<T> timeEach(Stream<T> stream) {
+        return StreamSupport.stream(new TimedSpliterator<>(stream.spliterator()), stream.isParallel())
+            .onClose(stream::close);
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getSampledCalls() {
+        return sampledCalls.sum();
+    }
+
+    /** The time taken by all calls, scaled up from the time taken by the sampled calls */
+    public long getEstimatedNanos() {
+        long sampled = sampledCalls.sum();
+        if (sampled == 0) {
+            return 0;
+        }
+        return (long) (sampledNanos.sum() * ((double) calls.sum() / sampled));
+    }
+
+    /**
+     * The number of sampled calls in each bucket of the latency histogram; bucket i holds the calls that took fewer
+     * than 2^i nanoseconds, and at least 2^(i-1).
+     */
+    public long[] getLatencyHistogram() {
+        long[] counts = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            counts[i] = histogram[i].sum();
+        }
+        return counts;
+    }
+
+    /** The upper bound, in nanoseconds, of the histogram bucket holding the given percentile of sampled calls */
+    public long getLatencyPercentileNanos(double percentile) {
+        long[] counts = getLatencyHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketUpperBoundNanos(i);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public static long bucketUpperBoundNanos(int bucket) {
+        return bucket >= 63 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Counts a call and decides whether to time it, for work that can't be wrapped in a lambda cheaply. The time taken
+     * by a sampled call must then be passed to {@link #record}.
+     */
+    public boolean sample() {
+        calls.increment();
+        return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /** Counts a call without timing it, for a stage whose calls are sampled along with another stage's */
+    public void count() {
+        calls.increment();
+    }
+
+    /** Records the time taken by a sampled call */
+    public void record(long nanos) {
+        sampledCalls.increment();
+        sampledNanos.add(nanos);
+        histogram[64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))].increment();
+    }
+
+    private class TimedSpliterator<T> implements Spliterator<T>, Consumer<T> {
+        private final Spliterator<T> source;
+        private T next;
+
+        TimedSpliterator(Spliterator<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void accept(T element) {
+            next = element;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!sample()) {
+                return source.tryAdvance(action);
+            }
+
+            long start = System.nanoTime();
+            boolean advanced = source.tryAdvance(this);
+            record(System.nanoTime() - start);
+
+            if (advanced) {
+                T element = next;
+                next = null;
+                action.accept(element);
+            }
+            return advanced;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & ~(SIZED | SUBSIZED | SORTED);
+        }
+    }
+}
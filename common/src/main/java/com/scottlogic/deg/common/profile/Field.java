@@ -16,19 +16,22 @@
 
 package com.scottlogic.deg.common.profile;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public class Field {
+public class Field implements Serializable {
     public final String name;
     public final Types type;
     private final boolean unique;
     private final String formatting;
+    private final transient ValueFormatter formatter;
 
     public Field(String name, Types type, Boolean unique, String formatting) {
         this.name = name;
         this.type = type;
         this.unique = unique;
         this.formatting = formatting;
+        this.formatter = ValueFormatter.compile(formatting);
     }
 
     public boolean isUnique() {
@@ -53,13 +56,23 @@ public class Field {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, unique, formatting, type);
+        // hash the type by name, as an enum's own hash code differs between runs and would change iteration order
+        return Objects.hash(name, unique, formatting, type == null ? null : type.name());
     }
 
     public String getFormatting() {
         return formatting;
     }
 
+    public ValueFormatter getFormatter() {
+        return formatter;
+    }
+
+    private Object readResolve() {
+        // the formatter isn't serialised, so compile it again
+        return new Field(name, type, unique, formatting);
+    }
+
     public Types getType() {
         return type;
     }
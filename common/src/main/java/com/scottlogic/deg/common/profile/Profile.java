@@ -16,10 +16,11 @@
 
 package com.scottlogic.deg.common.profile;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
 
-public class Profile {
+public class Profile implements Serializable {
     private final ProfileFields fields;
     private final Collection<Rule> rules;
     private final String description;
@@ -18,11 +18,12 @@ package com.scottlogic.deg.common.profile;
 
 
 
+import java.io.Serializable;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Stream;
 
-public class ProfileFields implements Iterable<Field> {
+public class ProfileFields implements Iterable<Field>, Serializable {
     private final List<Field> fields;
 
     public ProfileFields(List<Field> fields) {
@@ -18,9 +18,10 @@ package com.scottlogic.deg.common.profile;
 
 import com.scottlogic.deg.common.profile.constraints.Constraint;
 
+import java.io.Serializable;
 import java.util.Collection;
 
-public class Rule
+public class Rule implements Serializable
 {
     private final RuleInformation ruleInformation;
     private final Collection<Constraint> constraints;
@@ -16,9 +16,10 @@
 
 package com.scottlogic.deg.common.profile;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public class RuleInformation {
+public class RuleInformation implements Serializable {
     private final String description;
 
     public RuleInformation(){
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.common.profile;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Formattable;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A field's formatting string, checked and parsed once so that each value can be formatted without re-parsing it.
+ *
+ * Values come out as {@code String.format(formatting, value)} would produce them, or unformatted where that would
+ * fail. Single {@code %s}, {@code %d} and {@code %f} conversions are formatted directly; anything else still goes
+ * through String.format.
+ */
+public abstract class ValueFormatter {
+    private static final Pattern SINGLE_CONVERSION =
+        Pattern.compile("([^%]*)%(0)?([1-9][0-9]*)?(?:\\.([0-9]+))?([sdf])([^%]*)");
+
+    private static final ValueFormatter UNFORMATTED = new ValueFormatter() {
+        @Override
+        public Object format(Object value) {
+            return value;
+        }
+    };
+
+    public abstract Object format(Object value);
+
+    public static ValueFormatter compile(String formatting) {
+        if (formatting == null || !isValid(formatting)) {
+            return UNFORMATTED;
+        }
+
+        Matcher matcher = SINGLE_CONVERSION.matcher(formatting);
+        if (!matcher.matches()) {
+            return new GeneralFormatter(formatting);
+        }
+
+        String prefix = matcher.group(1);
+        boolean zeroPadded = matcher.group(2) != null;
+        int width = matcher.group(3) == null ? 0 : Integer.parseInt(matcher.group(3));
+        Integer precision = matcher.group(4) == null ? null : Integer.parseInt(matcher.group(4));
+        String suffix = matcher.group(6);
+
+        switch (matcher.group(5).charAt(0)) {
+            case 's':
+                if (!zeroPadded && width == 0) {
+                    return new StringFormatter(formatting, prefix, precision, suffix);
+                }
+                break;
+            case 'd':
+                if (usesPlainDigits()) {
+                    return new IntegerFormatter(formatting, prefix, width, zeroPadded ? '0' : ' ', suffix);
+                }
+                break;
+            case 'f':
+                if (!zeroPadded && width == 0 && usesPlainDigits()) {
+                    return new DecimalFormatter(formatting, prefix, precision == null ? 6 : precision, suffix);
+                }
+                break;
+        }
+        return new GeneralFormatter(formatting);
+    }
+
+    /** Finds formats that can't format any value, such as those with unknown conversions or too few arguments */
+    private static boolean isValid(String formatting) {
+        try {
+            String.format(formatting, (Object) null);
+            return true;
+        } catch (IllegalFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean usesPlainDigits() {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        return symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() == '.';
+    }
+
+    private static class GeneralFormatter extends ValueFormatter {
+        private final String formatting;
+
+        GeneralFormatter(String formatting) {
+            this.formatting = formatting;
+        }
+
+        @Override
+        public Object format(Object value) {
+            if (value == null) {
+                return null;
+            }
+
+            try {
+                return String.format(formatting, value);
+            } catch (IllegalFormatException e) {
+                return value;
+            }
+        }
+    }
+
+    private static class StringFormatter extends GeneralFormatter {
+        private final String prefix;
+        private final Integer precision;
+        private final String suffix;
+
+        StringFormatter(String formatting, String prefix, Integer precision, String suffix) {
+            super(formatting);
+            this.prefix = prefix;
+            this.precision = precision;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public Object format(Object value) {
+            if (value == null || value instanceof Formattable) {
+                return super.format(value);
+            }
+
+            String text = value.toString();
+            if (precision != null && text.length() > precision) {
+                text = text.substring(0, precision);
+            }
+            return prefix + text + suffix;
+        }
+    }
+
+    private static class IntegerFormatter extends GeneralFormatter {
+        private final String prefix;
+        private final int width;
+        private final char padding;
+        private final String suffix;
+
+        IntegerFormatter(String formatting, String prefix, int width, char padding, String suffix) {
+            super(formatting);
+            this.prefix = prefix;
+            this.width = width;
+            this.padding = padding;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public Object format(Object value) {
+            if (value instanceof BigInteger || value instanceof Long && (Long) value == Long.MIN_VALUE) {
+                return super.format(value);
+            }
+            if (!(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)) {
+                // anything else isn't an integer, so String.format would reject it
+                return value;
+            }
+
+            long number = ((Number) value).longValue();
+            String digits = Long.toString(Math.abs(number));
+            int signLength = number < 0 ? 1 : 0;
+
+            StringBuilder builder = new StringBuilder(prefix.length() + Math.max(width, digits.length() + 1) + suffix.length());
+            builder.append(prefix);
+            if (padding == ' ') {
+                pad(builder, ' ', width - signLength - digits.length());
+            }
+            if (number < 0) {
+                builder.append('-');
+            }
+            if (padding == '0') {
+                pad(builder, '0', width - signLength - digits.length());
+            }
+            return builder.append(digits).append(suffix).toString();
+        }
+
+        private static void pad(StringBuilder builder, char padding, int count) {
+            for (int i = 0; i < count; i++) {
+                builder.append(padding);
+            }
+        }
+    }
+
+    private static class DecimalFormatter extends GeneralFormatter {
+        private final String prefix;
+        private final int precision;
+        private final String suffix;
+
+        DecimalFormatter(String formatting, String prefix, int precision, String suffix) {
+            super(formatting);
+            this.prefix = prefix;
+            this.precision = precision;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public Object format(Object value) {
+            if (value instanceof Double || value instanceof Float) {
+                return super.format(value);
+            }
+            if (!(value instanceof BigDecimal)) {
+                // anything else isn't a floating point value, so String.format would reject it
+                return value;
+            }
+
+            BigDecimal decimal = (BigDecimal) value;
+            BigDecimal rounded = decimal.setScale(precision, RoundingMode.HALF_UP);
+
+            // String.format keeps the sign of negative values that round to zero
+            String sign = decimal.signum() < 0 && rounded.signum() == 0 ? "-" : "";
+            return prefix + sign + rounded.toPlainString() + suffix;
+        }
+    }
+}
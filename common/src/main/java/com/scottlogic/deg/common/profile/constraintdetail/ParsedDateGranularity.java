@@ -16,9 +16,10 @@
 
 package com.scottlogic.deg.common.profile.constraintdetail;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public class ParsedDateGranularity {
+public class ParsedDateGranularity implements Serializable {
     private final Timescale granularity;
 
     public ParsedDateGranularity(Timescale granularity) {
@@ -18,6 +18,7 @@ package com.scottlogic.deg.common.profile.constraintdetail;
 
 import com.scottlogic.deg.common.util.NumberUtils;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Objects;
 
@@ -25,7 +26,7 @@ import java.util.Objects;
  * Granularity expressions could be interpreted differently depending on other constraints on a field (eg, type constraints),
  * so we store all possible parsings in this class, ready to make a GranularityRestrictions object
  * */
-public class ParsedGranularity {
+public class ParsedGranularity implements Serializable {
     private final BigDecimal numericGranularity;
 
     public ParsedGranularity(BigDecimal numericGranularity) {
@@ -18,11 +18,12 @@ package com.scottlogic.deg.generator.fieldspecs.whitelist;
 
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 
+import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class DistributedList<T> {
+public class DistributedList<T> implements Serializable {
 
     private static final DistributedList<?> EMPTY = new DistributedList<>(Collections.emptyList());
 
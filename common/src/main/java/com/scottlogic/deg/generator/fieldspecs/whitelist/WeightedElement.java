@@ -16,6 +16,7 @@
 
 package com.scottlogic.deg.generator.fieldspecs.whitelist;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
@@ -25,7 +26,7 @@ import java.util.Objects;
  *
  * @param <E>
  */
-public class WeightedElement<E> {
+public class WeightedElement<E> implements Serializable {
 
     private static final double DEFAULT_WEIGHT = 1.0D;
 
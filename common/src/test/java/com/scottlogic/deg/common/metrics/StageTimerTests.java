@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class StageTimerTests {
+    @Test
+    public void time_withSampleRateOfOne_samplesEveryCall() {
+        StageTimer timer = new StageTimer(1);
+
+        for (int i = 0; i < 10; i++) {
+            timer.time(() -> "value");
+        }
+
+        assertThat(timer.getCalls(), equalTo(10L));
+        assertThat(timer.getSampledCalls(), equalTo(10L));
+    }
+
+    @Test
+    public void time_withHighSampleRate_countsEveryCallButSamplesFewer() {
+        StageTimer timer = new StageTimer(64);
+
+        for (int i = 0; i < 1000; i++) {
+            timer.run(() -> { });
+        }
+
+        assertThat(timer.getCalls(), equalTo(1000L));
+        assertThat(timer.getSampledCalls(), lessThan(1000L));
+    }
+
+    @Test
+    public void timeEach_countsEachElementAndPreservesOrder() {
+        StageTimer timer = new StageTimer(1);
+
+        List<Integer> values = timer.timeEach(IntStream.range(0, 5).boxed()).collect(Collectors.toList());
+
+        assertThat(values, contains(0, 1, 2, 3, 4));
+        assertThat(timer.getCalls(), equalTo(6L));
+    }
+
+    @Test
+    public void getEstimatedNanos_withNoCalls_isZero() {
+        assertThat(new StageTimer(64).getEstimatedNanos(), equalTo(0L));
+    }
+
+    @Test
+    public void getLatencyHistogram_countsEachSampledCall() {
+        StageTimer timer = new StageTimer(1);
+
+        for (int i = 0; i < 20; i++) {
+            timer.run(() -> { });
+        }
+
+        assertThat(Arrays.stream(timer.getLatencyHistogram()).sum(), equalTo(20L));
+        assertThat(timer.getLatencyPercentileNanos(99), greaterThanOrEqualTo(timer.getLatencyPercentileNanos(50)));
+    }
+
+    @Test
+    public void getLatencyPercentileNanos_withNoCalls_isZero() {
+        assertThat(new StageTimer(1).getLatencyPercentileNanos(50), equalTo(0L));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.common.profile;
+
+import org.junit.Assert;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.IllegalFormatException;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.equalTo;
+
+class ValueFormatterTests {
+    private static final String[] FORMATS = {
+        "%s", "value: %s!", "%.3s", "%S", "%10s",
+        "%d", "%05d", "%5d", "id-%08d", "%,d",
+        "%.2f", "%f", "%.0f", "£%.2f each", "%10.2f",
+        "%s and %s", "%q", "%", "%tY", "100%% %s", "%n%s", "no conversions"
+    };
+
+    private static final Object[] VALUES = {
+        "text", "", "a longer piece of text",
+        0, 7, -7, 123456, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, (short) -3, (byte) 9,
+        BigInteger.valueOf(-42),
+        new BigDecimal("0"), new BigDecimal("1.005"), new BigDecimal("-1.005"), new BigDecimal("-0.001"),
+        new BigDecimal("2.5"), new BigDecimal("-2.5"), new BigDecimal("1E+5"), new BigDecimal("123456789.987654321"),
+        new BigDecimal("0.0000000001"), 3.14159d, -0.0d, 2.5f,
+        OffsetDateTime.of(2001, 2, 3, 4, 5, 6, 0, ZoneOffset.UTC),
+        true
+    };
+
+    private static Stream<Arguments> formatsAndValues() {
+        return Stream.of(FORMATS)
+            .flatMap(format -> Stream.of(VALUES).map(value -> Arguments.of(format, value)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formatsAndValues")
+    void format_producesSameResultAsStringFormat(String formatting, Object value) {
+        Object expected;
+        try {
+            expected = String.format(formatting, value);
+        } catch (IllegalFormatException e) {
+            expected = value;
+        }
+
+        Assert.assertThat(ValueFormatter.compile(formatting).format(value), equalTo(expected));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formatsAndValues")
+    void format_withNoFormattingOrNullValue_returnsValueUnchanged(String formatting, Object value) {
+        Assert.assertThat(ValueFormatter.compile(null).format(value), equalTo(value));
+        Assert.assertThat(ValueFormatter.compile(formatting).format(null), equalTo(null));
+    }
+}
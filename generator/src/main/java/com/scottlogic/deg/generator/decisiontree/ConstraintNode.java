@@ -31,7 +31,8 @@ public class ConstraintNode implements Node {
     private final Collection<DecisionNode> decisions;
     private final Set<NodeMarking> nodeMarkings;
 
-    private Optional<RowSpec> adaptedRowSpec = null;
+    // nodes can be shared between the trees of profiles generated at the same time
+    private transient volatile Optional<RowSpec> adaptedRowSpec = null;
 
     public ConstraintNode(Collection<AtomicConstraint> atomicConstraints,
                           Collection<DelayedAtomicConstraint> delayedAtomicConstraints,
@@ -18,7 +18,9 @@ package com.scottlogic.deg.generator.decisiontree;
 
 import com.scottlogic.deg.common.profile.ProfileFields;
 
-public class DecisionTree {
+import java.io.Serializable;
+
+public class DecisionTree implements Serializable {
     public final ConstraintNode rootNode;
     public final ProfileFields fields;
 
@@ -30,20 +30,41 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
 public class DecisionTreeFactory {
     private final DecisionTreeSimplifier decisionTreeSimplifier = new DecisionTreeSimplifier();
 
+    /**
+     * The simplified node for each rule seen so far. Violated profiles share all but one of their rules with the
+     * original profile, so only the violated rule needs converting again. Rules are held weakly, so entries go once
+     * their profiles are no longer in use.
+     */
+    private final Map<Rule, ConstraintNode> ruleNodes = Collections.synchronizedMap(new WeakHashMap<>());
+
     public DecisionTree analyse(Profile profile) {
         Iterator<ConstraintNode> nodes = profile.getRules().stream()
-            .map(this::convertRule)
-            .map(decisionTreeSimplifier::simplify)
+            .map(this::getRuleNode)
             .iterator();
 
         return new DecisionTree(ConstraintNode.merge(nodes), profile.getFields());
     }
 
+    private ConstraintNode getRuleNode(Rule rule) {
+        ConstraintNode cachedNode = ruleNodes.get(rule);
+        if (cachedNode != null) {
+            return cachedNode;
+        }
+
+        // converted outside the lock so that concurrent profiles don't wait on each other; a rule converted twice
+        // produces an equal node either way
+        ConstraintNode node = decisionTreeSimplifier.simplify(convertRule(rule));
+        ruleNodes.put(rule, node);
+        return node;
+    }
+
     private ConstraintNode convertRule(Rule rule) {
         return convertAndConstraint(new AndConstraint(rule.getConstraints()));
     }
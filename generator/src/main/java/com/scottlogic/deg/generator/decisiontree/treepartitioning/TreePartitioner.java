@@ -35,7 +35,6 @@ import java.util.stream.Stream;
  */
 public class TreePartitioner {
     private final ConstraintToFieldMapper fieldMapper;
-    private static Integer partitionIndex = 0;
 
     public TreePartitioner() {
         fieldMapper = new ConstraintToFieldMapper();
@@ -88,7 +87,9 @@ public class TreePartitioner {
                         .addDelayedAtomicConstraints(partition.getDelayedAtomicConstraints())
                         .setDecisions(partition.getDecisionNodes())
                         .build(),
-                    new ProfileFields(new ArrayList<>(partition.fields))
+                    new ProfileFields(decisionTree.getFields().stream()
+                        .filter(partition.fields::contains)
+                        .collect(Collectors.toList()))
                 )),
             unpartitionedFields
                 .map(field -> new DecisionTree(
@@ -137,6 +138,7 @@ public class TreePartitioner {
     static class PartitionIndex {
         private final Map<Integer, Partition> idToPartition = new HashMap<>();
         private final Map<Field, Partition> fieldsToPartition = new HashMap<>();
+        private int partitionIndex = 0;
 
         Integer addPartition(Set<Field> fields, Set<RootLevelConstraint> constraints) {
             final Partition newPartition = new Partition(
@@ -153,10 +155,12 @@ public class TreePartitioner {
         }
 
         void mergePartitions(Set<Integer> ids) {
-            final Set<Partition> partitions = ids
+            // merged in id order, as the order of their fields and constraints decides the order they're generated in
+            final List<Partition> partitions = ids
                 .stream()
+                .sorted()
                 .map(idToPartition::get)
-                .collect(Collectors.toSet());
+                .collect(Collectors.toList());
 
             final Set<Field> fields = getFromAllPartitions(partitions, partition -> partition.fields);
             final Set<RootLevelConstraint> constraints = getFromAllPartitions(partitions, partition -> partition.constraints);
@@ -171,11 +175,11 @@ public class TreePartitioner {
             ids.forEach(idToPartition::remove);
         }
 
-        private <T> Set<T> getFromAllPartitions(Set<Partition> partitions, Function<Partition, Set<T>> getter) {
+        private <T> Set<T> getFromAllPartitions(List<Partition> partitions, Function<Partition, Set<T>> getter) {
             return FlatMappingSpliterator.flatMap(partitions
                 .stream(),
                 partition -> getter.apply(partition).stream())
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
         }
 
         Integer getPartitionId(Field field) {
@@ -19,13 +19,13 @@ package com.scottlogic.deg.generator.generation;
 import com.google.inject.Inject;
 
 import java.io.PrintWriter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class AbstractDataGeneratorMonitor implements DataGeneratorMonitor {
     final PrintWriter writer;
 
-    private List<String> linesToPrintAtEndOfGeneration = new ArrayList<>();
+    private List<String> linesToPrintAtEndOfGeneration = new CopyOnWriteArrayList<>();
 
     @Inject
     AbstractDataGeneratorMonitor(PrintWriter writer) {
@@ -18,6 +18,8 @@ package com.scottlogic.deg.generator.generation;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
 import com.scottlogic.deg.common.output.GeneratedObject;
 import com.scottlogic.deg.common.profile.Profile;
 import com.scottlogic.deg.generator.decisiontree.DecisionTree;
@@ -26,9 +28,15 @@ import com.scottlogic.deg.generator.decisiontree.DecisionTreeOptimiser;
 import com.scottlogic.deg.generator.decisiontree.treepartitioning.TreePartitioner;
 import com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategy;
 import com.scottlogic.deg.generator.generation.databags.DataBag;
+import com.scottlogic.deg.generator.generation.profilecache.CompiledProfile;
+import com.scottlogic.deg.generator.generation.profilecache.CompiledProfileCache;
 import com.scottlogic.deg.generator.walker.DecisionTreeWalker;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class DecisionTreeDataGenerator implements DataGenerator {
@@ -39,6 +47,8 @@ public class DecisionTreeDataGenerator implements DataGenerator {
     private final DecisionTreeOptimiser treeOptimiser;
     private final CombinationStrategy partitionCombiner;
     private final UpfrontTreePruner upfrontTreePruner;
+    private final CompiledProfileCache compiledProfileCache;
+    private final GenerationMetrics metrics;
     private final long maxRows;
 
     @Inject
@@ -50,6 +60,8 @@ public class DecisionTreeDataGenerator implements DataGenerator {
         DataGeneratorMonitor monitor,
         CombinationStrategy combinationStrategy,
         UpfrontTreePruner upfrontTreePruner,
+        CompiledProfileCache compiledProfileCache,
+        GenerationMetrics metrics,
         @Named("config:maxRows") long maxRows) {
         this.decisionTreeGenerator = decisionTreeGenerator;
         this.treePartitioner = treePartitioner;
@@ -58,27 +70,48 @@ public class DecisionTreeDataGenerator implements DataGenerator {
         this.monitor = monitor;
         this.partitionCombiner = combinationStrategy;
         this.upfrontTreePruner = upfrontTreePruner;
+        this.compiledProfileCache = compiledProfileCache;
+        this.metrics = metrics;
         this.maxRows = maxRows;
     }
 
     @Override
     public Stream<GeneratedObject> generateData(Profile profile) {
-        monitor.generationStarting();
-        DecisionTree decisionTree = decisionTreeGenerator.analyse(profile);
+        CompiledProfile compiledProfile = compiledProfileCache.get(
+            profile,
+            () -> metrics.stage(GenerationStage.COMPILING).time(() -> compile(profile)));
 
-        decisionTree = upfrontTreePruner.runUpfrontPrune(decisionTree, monitor);
-        if (decisionTree.getRootNode() == null) {
+        compiledProfile.getMessages().forEach(monitor::addLineToPrintAtEndOfGeneration);
+        if (compiledProfile.getPartitions().isEmpty()) {
             return Stream.empty();
         }
 
-        Stream<Supplier<Stream<DataBag>>> partitionedDataBags = treePartitioner
-            .splitTreeIntoPartitions(decisionTree)
-            .map(treeOptimiser::optimiseTree)
+        Stream<Supplier<Stream<DataBag>>> partitionedDataBags = compiledProfile.getPartitions().stream()
             .map(tree -> () -> treeWalker.walk(tree));
 
         return partitionCombiner.permute(partitionedDataBags)
             .map(d->(GeneratedObject)d)
             .limit(maxRows)
-            .peek(monitor::rowEmitted);
+            .peek(row -> {
+                metrics.rowEmitted();
+                monitor.rowEmitted(row);
+            });
+    }
+
+    private CompiledProfile compile(Profile profile) {
+        List<String> messages = new ArrayList<>();
+        DecisionTree decisionTree = decisionTreeGenerator.analyse(profile);
+
+        decisionTree = upfrontTreePruner.runUpfrontPrune(decisionTree, messages::add);
+        if (decisionTree.getRootNode() == null) {
+            return new CompiledProfile(Collections.emptyList(), messages);
+        }
+
+        List<DecisionTree> partitions = treePartitioner
+            .splitTreeIntoPartitions(decisionTree)
+            .map(treeOptimiser::optimiseTree)
+            .collect(Collectors.toList());
+
+        return new CompiledProfile(partitions, messages);
     }
 }
@@ -17,27 +17,33 @@
 package com.scottlogic.deg.generator.generation;
 
 import com.google.inject.Inject;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import com.scottlogic.deg.common.metrics.StageTimer;
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.generator.fieldspecs.FieldSpec;
 import com.scottlogic.deg.generator.config.detail.DataGenerationType;
 import com.scottlogic.deg.generator.generation.databags.DataBagValue;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.FieldValueSource;
-import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 
 import java.util.stream.Stream;
 
 public class FieldSpecValueGenerator {
     private final DataGenerationType dataType;
     private final FieldValueSourceEvaluator sourceFactory;
-    private final JavaUtilRandomNumberGenerator randomNumberGenerator;
+    private final RandomNumberGenerator randomNumberGenerator;
+    private final StageTimer valueGenerationTimer;
 
     @Inject
     public FieldSpecValueGenerator(DataGenerationType dataGenerationType,
                                    FieldValueSourceEvaluator sourceEvaluator,
-                                   JavaUtilRandomNumberGenerator randomNumberGenerator) {
+                                   RandomNumberGenerator randomNumberGenerator,
+                                   GenerationMetrics metrics) {
         this.dataType = dataGenerationType;
         this.sourceFactory = sourceEvaluator;
         this.randomNumberGenerator = randomNumberGenerator;
+        this.valueGenerationTimer = metrics.stage(GenerationStage.VALUE_GENERATION);
     }
 
     public boolean isRandom() {
@@ -47,7 +53,7 @@ public class FieldSpecValueGenerator {
     public Stream<DataBagValue> generate(Field field, FieldSpec spec) {
         FieldValueSource fieldValueSource = sourceFactory.getFieldValueSources(field.type, spec);
 
-        return getDataValues(fieldValueSource, field.isUnique())
+        return valueGenerationTimer.timeEach(getDataValues(fieldValueSource, field.isUnique()))
             .map(DataBagValue::new);
     }
 
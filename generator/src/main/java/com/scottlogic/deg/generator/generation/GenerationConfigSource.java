@@ -18,10 +18,18 @@ package com.scottlogic.deg.generator.generation;
 
 import com.scottlogic.deg.generator.config.detail.*;
 
+import java.nio.file.Path;
+
 public interface GenerationConfigSource  {
     DataGenerationType getGenerationType();
     CombinationStrategyType getCombinationStrategyType();
     long getMaxRows();
+    long getSeed();
 
     MonitorType getMonitorType();
+
+    Path getProfileCacheDirectory();
+
+    /** Where to write performance metrics while generating, or null not to write them */
+    Path getMetricsFile();
 }
@@ -17,38 +17,43 @@
 package com.scottlogic.deg.generator.generation;
 
 import com.google.inject.Inject;
-import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 
 import java.io.PrintWriter;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.math.RoundingMode;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Prints the number of rows generated, and the rate they're being generated at, once a second. The rows are counted
+ * by the generation metrics, so rows can be emitted from any thread; only the timer thread reads the counts.
+ */
 public class VelocityMonitor extends AbstractDataGeneratorMonitor {
-    private static final BigDecimal millisecondsInSecond = BigDecimal.valueOf(1_000);
-    private static final BigDecimal nanoSecondsInMillisecond = BigDecimal.valueOf(1_000_000);
+    private final GenerationMetrics metrics;
+    private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
 
-    private ZonedDateTime startedGenerating;
-    private long rowsSinceLastSample;
-    private BigInteger rowsEmitted;
+    private long startedNanos;
+    private long rowsAtStart;
     private Timer timer;
-    private DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    // only used by the timer thread
+    private long rowsAtLastSample;
     private long previousVelocity = 0;
 
     @Inject
-    public VelocityMonitor(PrintWriter writer) {
+    public VelocityMonitor(PrintWriter writer, GenerationMetrics metrics) {
         super(writer);
+        this.metrics = metrics;
     }
 
     @Override
     public void generationStarting() {
-        startedGenerating = ZonedDateTime.now();
-        rowsSinceLastSample = 0;
-        rowsEmitted = BigInteger.ZERO;
+        ZonedDateTime startedGenerating = ZonedDateTime.now();
+        startedNanos = System.nanoTime();
+        rowsAtStart = metrics.getRowsEmitted();
+        rowsAtLastSample = rowsAtStart;
 
         println("Generation started at: " + timeFormatter.format(startedGenerating) + "\n");
         println("Number of rows | Velocity (rows/sec) | Velocity trend");
@@ -58,40 +63,23 @@ public class VelocityMonitor extends AbstractDataGeneratorMonitor {
         timer.scheduleAtFixedRate(new TimerTask() {
             @Override
             public void run() {
-                reportVelocity(rowsSinceLastSample);
-                rowsSinceLastSample = 0;
+                reportVelocity();
             }
         }, 1000L, 1000L);
     }
-    
-    @Override
-    public void rowEmitted(GeneratedObject item) {
-        rowsSinceLastSample++;
-        rowsEmitted = rowsEmitted.add(BigInteger.ONE);
-    }
 
     @Override
     public void endGeneration() {
         timer.cancel();
 
         ZonedDateTime finished = ZonedDateTime.now();
-        Duration totalDuration = Duration.between(startedGenerating, finished);
-
-        //Get the total duration of the generator in milliseconds
-        BigDecimal nanoSecondsAsMilliseconds = BigDecimal
-            .valueOf(totalDuration.getNano())
-            .divide(nanoSecondsInMillisecond, RoundingMode.DOWN); //get the number of nanoSeconds in the duration and divide to convert them into milliseconds
-        BigDecimal secondsAsMilliseconds = BigDecimal
-            .valueOf(totalDuration.getSeconds()) //get the total number of seconds and multiply them by 1000 to convert them to milliseconds
-            .multiply(millisecondsInSecond);
-        BigDecimal totalMilliseconds = nanoSecondsAsMilliseconds.add(secondsAsMilliseconds);
-
-        BigInteger averageRowsPerSecond = calculateRowsPerSecond(totalMilliseconds);
+        long totalMilliseconds = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        long rowsEmitted = metrics.getRowsEmitted() - rowsAtStart;
 
         println(
-            "%-14s | %-19d | Finished",
-            rowsEmitted.toString(),
-            averageRowsPerSecond);
+            "%-14d | %-19d | Finished",
+            rowsEmitted,
+            calculateRowsPerSecond(rowsEmitted, totalMilliseconds));
 
         println(
             "\nGeneration finished at: %s",
@@ -100,24 +88,22 @@ public class VelocityMonitor extends AbstractDataGeneratorMonitor {
         super.endGeneration();
     }
 
-    private BigInteger calculateRowsPerSecond(BigDecimal totalMilliseconds) {
-        if (BigDecimal.ZERO.compareTo(totalMilliseconds) != 0 ) {
-            //Work out the average velocity for the generator as a whole by using the formula
-            // (<rowsEmitted>/<totalMilliseconds>)*1000 = <rowsEmitted>/second
-            return new BigDecimal(rowsEmitted)
-                .setScale(2, RoundingMode.UNNECESSARY)
-                .divide(totalMilliseconds, RoundingMode.HALF_UP)
-                .multiply(millisecondsInSecond).toBigInteger();
-        } else {
-            return new BigDecimal(rowsEmitted).toBigInteger();
+    private static long calculateRowsPerSecond(long rowsEmitted, long totalMilliseconds) {
+        if (totalMilliseconds == 0) {
+            return rowsEmitted;
         }
+        return Math.round(rowsEmitted * 1000d / totalMilliseconds);
     }
 
-    private void reportVelocity(long rowsSinceLastSample) {
+    private void reportVelocity() {
+        long rowsEmitted = metrics.getRowsEmitted();
+        long rowsSinceLastSample = rowsEmitted - rowsAtLastSample;
+        rowsAtLastSample = rowsEmitted;
+
         String trend = rowsSinceLastSample > previousVelocity ? "+" : "-";
         println(
-            "%-14s | %-19d | %s",
-            rowsEmitted.toString(),
+            "%-14d | %-19d | %s",
+            rowsEmitted - rowsAtStart,
             rowsSinceLastSample,
             trend);
         previousVelocity = rowsSinceLastSample;
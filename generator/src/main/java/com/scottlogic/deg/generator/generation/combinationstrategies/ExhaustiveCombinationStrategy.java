@@ -16,6 +16,9 @@
 
 package com.scottlogic.deg.generator.generation.combinationstrategies;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import com.scottlogic.deg.common.metrics.StageTimer;
 import com.scottlogic.deg.generator.generation.databags.DataBag;
 
 import java.util.*;
@@ -25,6 +28,11 @@ import java.util.stream.Stream;
 import static com.scottlogic.deg.common.util.FlatMappingSpliterator.flatMap;
 
 public class ExhaustiveCombinationStrategy implements CombinationStrategy {
+    private final StageTimer mergingTimer;
+
+    public ExhaustiveCombinationStrategy(GenerationMetrics metrics) {
+        this.mergingTimer = metrics.stage(GenerationStage.MERGING);
+    }
 
     @Override
     public Stream<DataBag> permute(Stream<Supplier<Stream<DataBag>>> dataBagSequences) {
@@ -45,7 +53,7 @@ public class ExhaustiveCombinationStrategy implements CombinationStrategy {
             currentBag ->
                 otherDataBags.get()
                     .map(subBag ->
-                        DataBag.merge(currentBag, subBag)));
+                        mergingTimer.time(() -> DataBag.merge(currentBag, subBag))));
 
     }
 }
@@ -16,6 +16,9 @@
 
 package com.scottlogic.deg.generator.generation.combinationstrategies;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import com.scottlogic.deg.common.metrics.StageTimer;
 import com.scottlogic.deg.generator.generation.databags.*;
 
 import java.util.*;
@@ -23,6 +26,11 @@ import java.util.function.Supplier;
 import java.util.stream.*;
 
 public class MinimalCombinationStrategy implements CombinationStrategy {
+    private final StageTimer mergingTimer;
+
+    public MinimalCombinationStrategy(GenerationMetrics metrics) {
+        this.mergingTimer = metrics.stage(GenerationStage.MERGING);
+    }
 
     @Override
     public Stream<DataBag> permute(Stream<Supplier<Stream<DataBag>>> dataBagSequences) {
@@ -38,16 +46,18 @@ public class MinimalCombinationStrategy implements CombinationStrategy {
     }
 
     private Iterable<DataBag> iterable(List<Iterator<DataBag>> iterators) {
-        return () -> new InternalIterator(iterators);
+        return () -> new InternalIterator(iterators, mergingTimer);
     }
 
     static class InternalIterator implements Iterator<DataBag> {
         private final List<Iterator<DataBag>> iterators;
         private final Map<Iterator<DataBag>, DataBag> lastValues;
+        private final StageTimer mergingTimer;
 
-        InternalIterator(List<Iterator<DataBag>> iterators) {
+        InternalIterator(List<Iterator<DataBag>> iterators, StageTimer mergingTimer) {
             this.iterators = iterators;
-            this.lastValues = new HashMap<>();
+            this.lastValues = new LinkedHashMap<>();
+            this.mergingTimer = mergingTimer;
         }
 
         @Override
@@ -74,7 +84,7 @@ public class MinimalCombinationStrategy implements CombinationStrategy {
                 .filter(Iterator::hasNext)
                 .forEach(iterator -> lastValues.put(iterator, iterator.next()));
 
-            return DataBag.merge(lastValues.values().toArray(new DataBag[0]));
+            return mergingTimer.time(() -> DataBag.merge(lastValues.values().toArray(new DataBag[0])));
         }
     }
 }
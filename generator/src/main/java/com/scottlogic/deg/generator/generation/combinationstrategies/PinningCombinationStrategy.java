@@ -16,6 +16,9 @@
 
 package com.scottlogic.deg.generator.generation.combinationstrategies;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import com.scottlogic.deg.common.metrics.StageTimer;
 import com.scottlogic.deg.generator.generation.databags.*;
 
 import java.util.Collections;
@@ -25,6 +28,11 @@ import java.util.function.Supplier;
 import java.util.stream.*;
 
 public class PinningCombinationStrategy implements CombinationStrategy {
+    private final StageTimer mergingTimer;
+
+    public PinningCombinationStrategy(GenerationMetrics metrics) {
+        this.mergingTimer = metrics.stage(GenerationStage.MERGING);
+    }
 
     @Override
     public Stream<DataBag> permute(Stream<Supplier<Stream<DataBag>>> dataBagSequences) {
@@ -98,12 +106,12 @@ public class PinningCombinationStrategy implements CombinationStrategy {
             if (this.indexOfSequenceToVary == null) {
                 this.indexOfSequenceToVary = 0;
 
-                return this.tuples.stream()
+                return mergingTimer.time(() -> this.tuples.stream()
                         .map(tuple -> tuple.baseline)
-                    .reduce(DataBag.empty, (db1, db2) -> DataBag.merge(db1, db2));
+                    .reduce(DataBag.empty, (db1, db2) -> DataBag.merge(db1, db2)));
             }
 
-            return IntStream.range(0, this.tuples.size())
+            List<DataBag> bags = IntStream.range(0, this.tuples.size())
                 .mapToObj(seqIndex -> {
                     SequenceAndBaselineTuple tuple = this.tuples.get(seqIndex);
 
@@ -116,7 +124,10 @@ public class PinningCombinationStrategy implements CombinationStrategy {
                     }
                     return tuple.next();
                 })
-                .reduce(DataBag.empty, (db1, db2) -> DataBag.merge(db1, db2));
+                .collect(Collectors.toList());
+
+            return mergingTimer.time(() -> bags.stream()
+                .reduce(DataBag.empty, (db1, db2) -> DataBag.merge(db1, db2)));
         }
     }
 }
@@ -34,17 +34,7 @@ public class DataBag implements GeneratedObject {
 
     @Override
     public Object getFormattedValue(Field field) {
-        Object value = getDataBagValue(field).getValue();
-
-        if (field.getFormatting() == null || value == null) {
-            return value;
-        }
-
-        try {
-            return String.format(field.getFormatting(), value);
-        } catch (IllegalFormatException e){
-            return value;
-        }
+        return field.getFormatter().format(getDataBagValue(field).getValue());
     }
 
     public DataBagValue getDataBagValue(Field field) {
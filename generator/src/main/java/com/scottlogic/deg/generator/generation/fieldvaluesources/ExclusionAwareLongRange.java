@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources;
+
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The longs from min to max inclusive, less a set of excluded points.
+ * Values are picked and iterated without testing candidates against the exclusions, so the cost
+ * does not depend on how much of the range is excluded.
+ * The span between min and max must be less than Long.MAX_VALUE.
+ */
+public class ExclusionAwareLongRange {
+    private final long min;
+    private final long max;
+    private final long[] excluded;
+
+    public ExclusionAwareLongRange(long min, long max, LongStream excluded) {
+        this.min = min;
+        this.max = max;
+        this.excluded = excluded
+            .filter(value -> value >= min && value <= max)
+            .sorted()
+            .distinct()
+            .toArray();
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long size() {
+        return max < min ? 0 : max - min + 1 - excluded.length;
+    }
+
+    public boolean contains(long value) {
+        return value >= min && value <= max && Arrays.binarySearch(excluded, value) < 0;
+    }
+
+    /**
+     * picks uniformly from the permitted values, should only be called when size() is greater than zero
+     */
+    public long nextRandom(RandomNumberGenerator randomNumberGenerator) {
+        return valueAtRank(randomNumberGenerator.nextLong(0, size()));
+    }
+
+    public LongStream stream() {
+        return StreamSupport.longStream(
+            Spliterators.spliteratorUnknownSize(new GapIterator(), Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT),
+            false);
+    }
+
+    /**
+     * Finds the permitted value which has rank permitted values below it. excluded[i] - i is the rank the
+     * i-th excluded point would have had, so every excluded point whose adjusted rank is at most the
+     * candidate pushes the result one further along.
+     */
+    private long valueAtRank(long rank) {
+        long candidate = min + rank;
+        int low = 0;
+        int high = excluded.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (excluded[middle] - middle <= candidate) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return candidate + low;
+    }
+
+    // steps through the runs of permitted values between excluded points, jumping over each excluded point
+    private class GapIterator implements PrimitiveIterator.OfLong {
+        private long next = min;
+        private int nextExcludedIndex = 0;
+        private boolean finished = max < min;
+
+        GapIterator() {
+            skipExcluded();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !finished;
+        }
+
+        @Override
+        public long nextLong() {
+            if (finished) {
+                throw new NoSuchElementException();
+            }
+
+            long value = next;
+            if (value == max) {
+                finished = true;
+            } else {
+                next++;
+                skipExcluded();
+            }
+            return value;
+        }
+
+        private void skipExcluded() {
+            while (nextExcludedIndex < excluded.length && excluded[nextExcludedIndex] == next) {
+                nextExcludedIndex++;
+                if (next == max) {
+                    finished = true;
+                    return;
+                }
+                next++;
+            }
+        }
+    }
+}
@@ -37,16 +37,21 @@ import static com.scottlogic.deg.generator.utils.SetUtils.stream;
 public class RealNumberFieldValueSource implements FieldValueSource<BigDecimal> {
     private final Set<BigDecimal> blacklist;
     private final LinearRestrictions<BigDecimal> restrictions;
+    private final ScaledLongRange scaledLongRange;
 
     public RealNumberFieldValueSource(LinearRestrictions<BigDecimal> restrictions, Set<Object> blacklist) {
         this.restrictions = restrictions;
 
+        // stripping trailing zeros gives one representation per numeric value, so hash lookups match compareTo
         this.blacklist = blacklist.stream()
             .map(NumberUtils::coerceToBigDecimal)
             .filter(Objects::nonNull)
             .map(i -> restrictions.getGranularity().trimToGranularity(i))
             .filter(i -> restrictions.getMin().compareTo(i) <= 0 && i.compareTo(restrictions.getMax()) <= 0)
+            .map(BigDecimal::stripTrailingZeros)
             .collect(Collectors.toSet());
+
+        this.scaledLongRange = ScaledLongRange.fromRestrictions(restrictions, this.blacklist).orElse(null);
     }
 
     @Override
@@ -59,12 +64,20 @@ public class RealNumberFieldValueSource implements FieldValueSource<BigDecimal>
 
     @Override
     public Stream<BigDecimal> generateAllValues() {
+        if (scaledLongRange != null) {
+            return scaledLongRange.generateAllValues();
+        }
+
         return stream(new LinearIterator<>(restrictions))
             .filter(this::notInBlacklist);
     }
 
     @Override
     public Stream<BigDecimal> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        if (scaledLongRange != null) {
+            return scaledLongRange.generateRandomValues(randomNumberGenerator);
+        }
+
         return Stream.generate(() ->
             randomNumberGenerator.nextBigDecimal(
                 restrictions.getMin(),
@@ -74,7 +87,7 @@ public class RealNumberFieldValueSource implements FieldValueSource<BigDecimal>
     }
 
     private boolean notInBlacklist(BigDecimal i) {
-        return blacklist.stream().noneMatch(x->x.compareTo(i)==0);
+        return blacklist.isEmpty() || !blacklist.contains(i.stripTrailingZeros());
     }
 
     @Override
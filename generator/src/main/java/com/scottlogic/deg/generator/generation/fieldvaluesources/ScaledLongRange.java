@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources;
+
+import com.scottlogic.deg.generator.restrictions.linear.LinearRestrictions;
+import com.scottlogic.deg.generator.restrictions.linear.NumericGranularity;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * A numeric range whose bounds, counted in steps of its granularity, fit in a long.
+ * Values are iterated, sampled and checked against the blacklist with primitive arithmetic,
+ * only becoming a BigDecimal when emitted.
+ */
+class ScaledLongRange {
+    // leaves headroom so that (max - min + 1) can never overflow
+    private static final int MAX_BIT_LENGTH = 62;
+
+    private final BigDecimal min;
+    private final int scale;
+    private final int iterationScale;
+    private final ExclusionAwareLongRange unscaledValues;
+
+    private ScaledLongRange(BigDecimal min, int scale, ExclusionAwareLongRange unscaledValues) {
+        this.min = min;
+        this.scale = scale;
+        this.iterationScale = Math.max(min.scale(), scale);
+        this.unscaledValues = unscaledValues;
+    }
+
+    /**
+     * @param blacklist values to exclude, which must already be trimmed to the granularity
+     */
+    static Optional<ScaledLongRange> fromRestrictions(LinearRestrictions<BigDecimal> restrictions, Collection<BigDecimal> blacklist) {
+        NumericGranularity granularity = (NumericGranularity) restrictions.getGranularity();
+        int scale = granularity.getDecimalPlaces();
+
+        // off-granularity bounds are snapped inwards to the nearest granular values they contain
+        BigDecimal min = granularity.isCorrectScale(restrictions.getMin())
+            ? restrictions.getMin()
+            : restrictions.getMin().setScale(scale, RoundingMode.CEILING);
+        BigDecimal max = restrictions.getMax().setScale(scale, RoundingMode.FLOOR);
+
+        BigInteger unscaledMin = min.setScale(scale).unscaledValue();
+        BigInteger unscaledMax = max.unscaledValue();
+
+        if (unscaledMin.bitLength() > MAX_BIT_LENGTH || unscaledMax.bitLength() > MAX_BIT_LENGTH) {
+            return Optional.empty();
+        }
+
+        ExclusionAwareLongRange unscaledValues = new ExclusionAwareLongRange(
+            unscaledMin.longValue(),
+            unscaledMax.longValue(),
+            blacklist.stream()
+                .filter(value -> min.compareTo(value) <= 0 && value.compareTo(max) <= 0)
+                .mapToLong(value -> value.setScale(scale).unscaledValue().longValue()));
+
+        return Optional.of(new ScaledLongRange(min, scale, unscaledValues));
+    }
+
+    Stream<BigDecimal> generateAllValues() {
+        return unscaledValues.stream()
+            .mapToObj(this::toIteratedValue);
+    }
+
+    Stream<BigDecimal> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        if (unscaledValues.size() == 0) {
+            return Stream.empty();
+        }
+
+        return LongStream.generate(() -> unscaledValues.nextRandom(randomNumberGenerator))
+            .mapToObj(unscaled -> BigDecimal.valueOf(unscaled, scale));
+    }
+
+    // matches the scale of the values LinearIterator would produce, which start at min and add one granule at a time
+    private BigDecimal toIteratedValue(long unscaled) {
+        if (unscaled == unscaledValues.getMin()) {
+            return min;
+        }
+
+        BigDecimal value = BigDecimal.valueOf(unscaled, scale);
+        return scale == iterationScale ? value : value.setScale(iterationScale);
+    }
+}
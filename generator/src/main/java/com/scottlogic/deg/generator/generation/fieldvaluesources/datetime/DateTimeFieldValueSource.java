@@ -16,9 +16,10 @@
 
 package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
 
+import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
 import com.scottlogic.deg.common.util.Defaults;
+import com.scottlogic.deg.generator.generation.fieldvaluesources.ExclusionAwareLongRange;
 import com.scottlogic.deg.generator.generation.fieldvaluesources.FieldValueSource;
-import com.scottlogic.deg.generator.generation.fieldvaluesources.LinearIterator;
 import com.scottlogic.deg.generator.restrictions.linear.LinearRestrictions;
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 
@@ -32,14 +33,18 @@ import java.util.stream.Stream;
 
 import static com.scottlogic.deg.generator.utils.Defaults.DATETIME_MAX_LIMIT;
 import static com.scottlogic.deg.generator.utils.Defaults.DATETIME_MIN_LIMIT;
-import static com.scottlogic.deg.generator.utils.SetUtils.stream;
 
+/**
+ * Works on the indexes of the datetimes at the field's granularity, so generation is primitive arithmetic
+ * and an OffsetDateTime is only created for each emitted value.
+ */
 public class DateTimeFieldValueSource implements FieldValueSource<OffsetDateTime> {
 
     private final LinearRestrictions<OffsetDateTime> restrictions;
     private final Set<Object> blacklist;
 
-    private final RandomDateGenerator randomDateGenerator;
+    private final DateTimeIndex index;
+    private final ExclusionAwareLongRange permittedIndexes;
 
     public DateTimeFieldValueSource(
         LinearRestrictions<OffsetDateTime> restrictions,
@@ -47,13 +52,25 @@ public class DateTimeFieldValueSource implements FieldValueSource<OffsetDateTime
         this.restrictions = restrictions;
         this.blacklist = blacklist;
 
-        this.randomDateGenerator = new RandomDateGenerator(restrictions);
+        this.index = new DateTimeIndex((Timescale) restrictions.getGranularity());
+        this.permittedIndexes = getPermittedIndexes();
+    }
+
+    private ExclusionAwareLongRange getPermittedIndexes() {
+        return new ExclusionAwareLongRange(
+            index.ceilingIndex(restrictions.getMin()),
+            index.floorIndex(restrictions.getMax()),
+            blacklist.stream()
+                .filter(value -> value instanceof OffsetDateTime)
+                .map(value -> (OffsetDateTime) value)
+                .filter(index::isIndexed)
+                .mapToLong(index::floorIndex));
     }
 
     @Override
     public Stream<OffsetDateTime> generateAllValues() {
-        return stream(new LinearIterator<>(restrictions))
-            .filter(i -> !blacklist.contains(i));
+        return permittedIndexes.stream()
+            .mapToObj(index::toDateTime);
     }
 
     @Override
@@ -65,8 +82,12 @@ public class DateTimeFieldValueSource implements FieldValueSource<OffsetDateTime
 
     @Override
     public Stream<OffsetDateTime> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
-        return Stream.generate(() -> randomDateGenerator.next(randomNumberGenerator))
-            .filter(i -> !blacklist.contains(i));
+        // pick from the datetimes left once the blacklist is removed, rather than rejecting blacklisted ones
+        if (permittedIndexes.size() == 0) {
+            return Stream.empty();
+        }
+
+        return Stream.generate(() -> index.toDateTime(permittedIndexes.nextRandom(randomNumberGenerator)));
     }
 
     @Override
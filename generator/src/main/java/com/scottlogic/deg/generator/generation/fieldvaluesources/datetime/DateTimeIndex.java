@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
+
+import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Numbers the datetimes at a granularity consecutively, so a datetime range can be handled as a range of longs.
+ * Index 0 is the start of the granule containing the epoch.
+ */
+class DateTimeIndex {
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    private static final int EPOCH_YEAR = 1970;
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private final Timescale granularity;
+
+    DateTimeIndex(Timescale granularity) {
+        this.granularity = granularity;
+    }
+
+    /**
+     * @return the index of the latest datetime at this granularity that is not after value
+     */
+    long floorIndex(OffsetDateTime value) {
+        switch (granularity) {
+            case MONTHS:
+                OffsetDateTime utc = value.withOffsetSameInstant(ZoneOffset.UTC);
+                return (utc.getYear() - EPOCH_YEAR) * (long) MONTHS_PER_YEAR + utc.getMonthValue() - 1;
+            case YEARS:
+                return value.withOffsetSameInstant(ZoneOffset.UTC).getYear() - EPOCH_YEAR;
+            default:
+                return Math.floorDiv(value.toInstant().toEpochMilli(), millisPerGranule());
+        }
+    }
+
+    /**
+     * @return the index of the earliest datetime at this granularity that is not before value
+     */
+    long ceilingIndex(OffsetDateTime value) {
+        long floor = floorIndex(value);
+        return toDateTime(floor).isBefore(value) ? floor + 1 : floor;
+    }
+
+    OffsetDateTime toDateTime(long index) {
+        switch (granularity) {
+            case MONTHS:
+                return OffsetDateTime.of(
+                    EPOCH_YEAR + (int) Math.floorDiv(index, MONTHS_PER_YEAR),
+                    (int) Math.floorMod(index, MONTHS_PER_YEAR) + 1,
+                    1, 0, 0, 0, 0, ZoneOffset.UTC);
+            case YEARS:
+                return OffsetDateTime.of(EPOCH_YEAR + (int) index, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+            default:
+                return Instant.ofEpochMilli(index * millisPerGranule()).atOffset(ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * @return true if value is exactly one of the datetimes this index numbers
+     */
+    boolean isIndexed(OffsetDateTime value) {
+        return value.getOffset().equals(ZoneOffset.UTC) && granularity.isCorrectScale(value);
+    }
+
+    private long millisPerGranule() {
+        switch (granularity) {
+            case MILLIS:
+                return 1;
+            case SECONDS:
+                return MILLIS_PER_SECOND;
+            case MINUTES:
+                return MILLIS_PER_MINUTE;
+            case HOURS:
+                return MILLIS_PER_HOUR;
+            case DAYS:
+                return MILLIS_PER_DAY;
+            default:
+                throw new UnsupportedOperationException("Granularity has no fixed length: " + granularity);
+        }
+    }
+}
@@ -37,7 +37,7 @@ public class RowSpecGrouper {
 
     private static Set<FieldGroup> findGroups(List<Field> fields, List<FieldPair> pairs) {
         if (fields.isEmpty()) {
-            return new HashSet<>();
+            return new LinkedHashSet<>();
         }
 
         Map<Field, List<Field>> fieldMapping = fields.stream()
@@ -53,8 +53,9 @@ public class RowSpecGrouper {
 
     // This method is recursive
     private static Set<FieldGroup> findGroupsFromMap(Map<Field, List<Field>> map) {
+        // groups are generated in the order they're returned, so they mustn't be ordered by identity
         if (map.isEmpty()) {
-            return new HashSet<>();
+            return new LinkedHashSet<>();
         }
 
         Map<Field, List<Field>> copiedMap = new HashMap<>(map);
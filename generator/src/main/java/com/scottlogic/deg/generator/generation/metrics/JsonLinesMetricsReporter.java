@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import com.scottlogic.deg.generator.generation.string.generators.RegexStringGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a line of JSON to the metrics file every second while generating, then a summary line when generation has
+ * finished, so the performance of a run can be tracked by other tools. Each line is flushed as it is written.
+ *
+ * The automaton caches are shared by the whole process, so their hits and misses are counted from the start of this
+ * run, and include lookups made by any other run going at the same time.
+ */
+public class JsonLinesMetricsReporter implements MetricsReporter {
+    private static final long INTERVAL_MILLIS = 1000L;
+
+    private final Path metricsFile;
+    private final GenerationMetrics metrics;
+    private final ObjectWriter jsonWriter = new ObjectMapper().writer();
+
+    private BufferedWriter writer;
+    private Timer timer;
+    private long startedNanos;
+    private long gcMillisAtStart;
+    private long automatonCacheHitsAtStart;
+    private long automatonCacheMissesAtStart;
+
+    // only used by the timer thread
+    private long rowsAtLastSample;
+    private long nanosAtLastSample;
+
+    public JsonLinesMetricsReporter(Path metricsFile, GenerationMetrics metrics) {
+        this.metricsFile = metricsFile;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void generationStarting() {
+        try {
+            writer = Files.newBufferedWriter(metricsFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the metrics file " + metricsFile, e);
+        }
+
+        startedNanos = System.nanoTime();
+        gcMillisAtStart = gcMillis();
+        automatonCacheHitsAtStart = RegexStringGenerator.getAutomatonCacheHits();
+        automatonCacheMissesAtStart = RegexStringGenerator.getAutomatonCacheMisses();
+        rowsAtLastSample = metrics.getRowsEmitted();
+        nanosAtLastSample = startedNanos;
+
+        timer = new Timer("datahelix-metrics", true);
+        timer.scheduleAtFixedRate(new TimerTask() {
+            @Override
+            public void run() {
+                writeSample();
+            }
+        }, INTERVAL_MILLIS, INTERVAL_MILLIS);
+    }
+
+    @Override
+    public void generationFinished() {
+        if (writer == null) {
+            return;
+        }
+        timer.cancel();
+
+        long nanos = System.nanoTime();
+        long rows = metrics.getRowsEmitted();
+        MetricsLineDTO summary = line("summary", nanos, rows, rowsPerSecond(rows, nanos - startedNanos));
+
+        long hits = RegexStringGenerator.getAutomatonCacheHits() - automatonCacheHitsAtStart;
+        long misses = RegexStringGenerator.getAutomatonCacheMisses() - automatonCacheMissesAtStart;
+        summary.automatonCacheHits = hits;
+        summary.automatonCacheMisses = misses;
+        summary.automatonCacheHitRate = hits + misses == 0 ? null : (double) hits / (hits + misses);
+        summary.pruningContradictions = metrics.getPruningContradictions();
+        summary.bytesWritten = metrics.getBytesWritten();
+
+        synchronized (this) {
+            try {
+                writeLine(summary);
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write to the metrics file " + metricsFile, e);
+            } finally {
+                writer = null;
+            }
+        }
+    }
+
+    private void writeSample() {
+        long nanos = System.nanoTime();
+        long rows = metrics.getRowsEmitted();
+        MetricsLineDTO sample = line("sample", nanos, rows, rowsPerSecond(rows - rowsAtLastSample, nanos - nanosAtLastSample));
+        rowsAtLastSample = rows;
+        nanosAtLastSample = nanos;
+
+        synchronized (this) {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writeLine(sample);
+            } catch (IOException e) {
+                // stop sampling, the summary will report the error if the file still can't be written
+                timer.cancel();
+            }
+        }
+    }
+
+    private MetricsLineDTO line(String type, long nanos, long rows, long rowsPerSecond) {
+        Map<String, StageMetricsDTO> stages = new LinkedHashMap<>();
+        for (GenerationStage stage : GenerationStage.values()) {
+            stages.put(stage.name(), StageMetricsDTO.of(metrics.stage(stage)));
+        }
+
+        return new MetricsLineDTO(
+            type,
+            TimeUnit.NANOSECONDS.toMillis(nanos - startedNanos),
+            rows,
+            rowsPerSecond,
+            ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+            gcMillis() - gcMillisAtStart,
+            stages);
+    }
+
+    private void writeLine(MetricsLineDTO line) throws IOException {
+        writer.write(jsonWriter.writeValueAsString(line));
+        writer.newLine();
+        writer.flush();
+    }
+
+    private static long rowsPerSecond(long rows, long nanos) {
+        if (nanos <= 0) {
+            return rows;
+        }
+        return Math.round(rows * 1e9 / nanos);
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // collectors that don't record their time report -1
+            total += Math.max(collector.getCollectionTime(), 0);
+        }
+        return total;
+    }
+}
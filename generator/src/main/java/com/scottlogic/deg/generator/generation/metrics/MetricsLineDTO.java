@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.metrics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * One line of the metrics file. Samples are written while generating, and hold cumulative counts and timings; the
+ * summary is written last, and adds the counts that are only meaningful for the whole run.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MetricsLineDTO {
+    public final String type;
+    public final long elapsedMillis;
+    public final long rows;
+    public final long rowsPerSecond;
+    public final long heapUsedBytes;
+    public final long gcMillis;
+    public final Map<String, StageMetricsDTO> stages;
+
+    public Long automatonCacheHits;
+    public Long automatonCacheMisses;
+    public Double automatonCacheHitRate;
+    public Long pruningContradictions;
+    public Long bytesWritten;
+
+    public MetricsLineDTO(
+        String type,
+        long elapsedMillis,
+        long rows,
+        long rowsPerSecond,
+        long heapUsedBytes,
+        long gcMillis,
+        Map<String, StageMetricsDTO> stages) {
+        this.type = type;
+        this.elapsedMillis = elapsedMillis;
+        this.rows = rows;
+        this.rowsPerSecond = rowsPerSecond;
+        this.heapUsedBytes = heapUsedBytes;
+        this.gcMillis = gcMillis;
+        this.stages = stages;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.metrics;
+
+import com.scottlogic.deg.common.metrics.StageTimer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The calls to one stage and how long they took. The latency histogram is keyed on the exclusive upper bound of
+ * each bucket in nanoseconds, and only holds the buckets that sampled calls fell into.
+ */
+public class StageMetricsDTO {
+    public final long calls;
+    public final long sampledCalls;
+    public final long estimatedMillis;
+    public final long p50Nanos;
+    public final long p99Nanos;
+    public final Map<String, Long> latencyHistogram;
+
+    private StageMetricsDTO(
+        long calls,
+        long sampledCalls,
+        long estimatedMillis,
+        long p50Nanos,
+        long p99Nanos,
+        Map<String, Long> latencyHistogram) {
+        this.calls = calls;
+        this.sampledCalls = sampledCalls;
+        this.estimatedMillis = estimatedMillis;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    static StageMetricsDTO of(StageTimer timer) {
+        long[] counts = timer.getLatencyHistogram();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                histogram.put(Long.toString(StageTimer.bucketUpperBoundNanos(i)), counts[i]);
+            }
+        }
+
+        return new StageMetricsDTO(
+            timer.getCalls(),
+            timer.getSampledCalls(),
+            timer.getEstimatedNanos() / 1_000_000,
+            timer.getLatencyPercentileNanos(50),
+            timer.getLatencyPercentileNanos(99),
+            histogram);
+    }
+}
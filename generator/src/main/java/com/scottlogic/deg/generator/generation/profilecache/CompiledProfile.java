@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.profilecache;
+
+import com.scottlogic.deg.generator.decisiontree.DecisionTree;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The partitioned and optimised decision trees for a profile, ready to be walked, along with any messages produced
+ * while building them.
+ */
+public class CompiledProfile implements Serializable {
+    private final List<DecisionTree> partitions;
+    private final List<String> messages;
+
+    public CompiledProfile(List<DecisionTree> partitions, List<String> messages) {
+        this.partitions = partitions;
+        this.messages = messages;
+    }
+
+    public List<DecisionTree> getPartitions() {
+        return partitions;
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+}
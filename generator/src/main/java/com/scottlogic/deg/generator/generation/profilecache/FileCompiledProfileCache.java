@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.profilecache;
+
+import com.scottlogic.deg.common.profile.Profile;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps compiled profiles in a directory, one file per profile, named after a hash of the profile and the generator
+ * version. The profile is hashed after it has been read, so it includes the contents of any sets loaded from file.
+ *
+ * Entries that can't be read, e.g. because they were written by an incompatible build, are compiled again and
+ * replaced. Entries that can't be written, e.g. because the directory is read-only or full, are reported as a
+ * warning and generation carries on without caching them.
+ */
+public class FileCompiledProfileCache implements CompiledProfileCache {
+    // change this when the structure of a compiled profile changes without its classes changing
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+    private final String generatorVersion;
+    private final Consumer<String> warnings;
+
+    public FileCompiledProfileCache(Path directory, Consumer<String> warnings) {
+        this(directory, FileCompiledProfileCache.class.getPackage().getImplementationVersion(), warnings);
+    }
+
+    FileCompiledProfileCache(Path directory, String generatorVersion, Consumer<String> warnings) {
+        this.directory = directory;
+        this.generatorVersion = generatorVersion == null ? "unversioned" : generatorVersion;
+        this.warnings = warnings;
+    }
+
+    @Override
+    public CompiledProfile get(Profile profile, Supplier<CompiledProfile> compile) {
+        Path file = directory.resolve(getKey(profile) + ".tree");
+
+        CompiledProfile cached = read(file);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompiledProfile compiled = compile.get();
+        write(file, compiled);
+        return compiled;
+    }
+
+    String getKey(Profile profile) {
+        return ProfileDigest.of(profile, FORMAT_VERSION + ":" + generatorVersion);
+    }
+
+    private static CompiledProfile read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (ObjectInputStream input = new CompiledProfileInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return (CompiledProfile) input.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private void write(Path file, CompiledProfile compiled) {
+        try {
+            Files.createDirectories(directory);
+
+            // written alongside and moved into place, so that concurrent runs never read a partial entry
+            Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (ObjectOutputStream output = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                    output.writeObject(compiled);
+                }
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            warnings.accept("Unable to cache the compiled profile in " + directory + ": " + e);
+        }
+    }
+
+    /**
+     * Only resolves the classes a compiled profile is made of, so that a planted or corrupted entry can't instantiate
+     * anything else. A rejected class fails the read, which is treated like any other unreadable entry.
+     */
+    static class CompiledProfileInputStream extends ObjectInputStream {
+        private static final List<String> ALLOWED_PACKAGES = Arrays.asList(
+            "com.scottlogic.deg.generator.generation.profilecache.",
+            "com.scottlogic.deg.generator.decisiontree.",
+            "com.scottlogic.deg.generator.fieldspecs.whitelist.",
+            "com.scottlogic.deg.common.profile.",
+            "com.scottlogic.deg.common.date.",
+            "java.util.",
+            "java.time.");
+
+        private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(
+            "java.lang.Object",
+            "java.lang.String",
+            "java.lang.Enum",
+            "java.lang.Number",
+            "java.lang.Boolean",
+            "java.lang.Integer",
+            "java.lang.Long",
+            "java.lang.Double",
+            "java.math.BigDecimal",
+            "java.math.BigInteger"));
+
+        CompiledProfileInputStream(InputStream input) throws IOException {
+            super(input);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+            if (!isAllowed(descriptor.getName())) {
+                throw new InvalidClassException(descriptor.getName(), "not part of a compiled profile");
+            }
+            return super.resolveClass(descriptor);
+        }
+
+        private static boolean isAllowed(String className) {
+            if (className.startsWith("[")) {
+                String elementName = className.substring(className.lastIndexOf('[') + 1);
+                if (elementName.length() == 1) {
+                    return true; // an array of primitives
+                }
+                return isAllowed(elementName.substring(1, elementName.length() - 1));
+            }
+
+            return ALLOWED_CLASSES.contains(className) || ALLOWED_PACKAGES.stream().anyMatch(className::startsWith);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.generator.generation.profilecache;
+
+import com.scottlogic.deg.common.profile.Profile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the most recently used compiled profiles in memory, in front of another cache, for a process that generates
+ * from the same profiles many times.
+ *
+ * Profiles aren't compiled while holding the lock, so two requests for a new profile at the same time may both
+ * compile it; the first to finish is kept.
+ */
+public class InMemoryCompiledProfileCache implements CompiledProfileCache {
+    private final CompiledProfileCache next;
+    private final Map<String, CompiledProfile> entries;
+
+    public InMemoryCompiledProfileCache(int maxEntries, CompiledProfileCache next) {
+        this.next = next;
+        this.entries = new LinkedHashMap<String, CompiledProfile>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledProfile> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public CompiledProfile get(Profile profile, Supplier<CompiledProfile> compile) {
+        String key = ProfileDigest.of(profile, "");
+
+        synchronized (entries) {
+            CompiledProfile cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        CompiledProfile compiled = next.get(profile, compile);
+
+        synchronized (entries) {
+            return entries.merge(key, compiled, (existing, ignored) -> existing);
+        }
+    }
+}
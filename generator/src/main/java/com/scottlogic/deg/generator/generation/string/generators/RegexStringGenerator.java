@@ -24,20 +24,29 @@ import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 import dk.brics.automaton.Automaton;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class RegexStringGenerator implements StringGenerator {
 
     /**
-     * Cache of all matching regex automatons, keyed on their regex
+     * Cache of all matching regex automatons, keyed on their regex. Shared between threads generating different
+     * datasets, so cached automatons must only be read, never modified in place.
      */
-    private static final Map<String, Automaton> matchingRegexAutomatonCache = new HashMap<>();
+    private static final Map<String, Automaton> matchingRegexAutomatonCache = new ConcurrentHashMap<>();
 
     /**
      * Cache of all containing regex automatons, keyed on their regex
      */
-    private static final Map<String, Automaton> containingRegexAutomatonCache = new HashMap<>();
+    private static final Map<String, Automaton> containingRegexAutomatonCache = new ConcurrentHashMap<>();
+
+    /**
+     * Lookups in either automaton cache, counted across every generation in this process
+     */
+    private static final LongAdder automatonCacheHits = new LongAdder();
+    private static final LongAdder automatonCacheMisses = new LongAdder();
 
     private Automaton automaton;
     private final String regexRepresentation;
@@ -52,8 +61,10 @@ public class RegexStringGenerator implements StringGenerator {
 
     public RegexStringGenerator(String regexStr, boolean matchFullString) {
         Map<String, Automaton> cache = matchFullString ? matchingRegexAutomatonCache : containingRegexAutomatonCache;
-        Automaton generatedAutomaton = cache.containsKey(regexStr)
-            ? cache.get(regexStr)
+        Automaton cachedAutomaton = cache.get(regexStr);
+        (cachedAutomaton != null ? automatonCacheHits : automatonCacheMisses).increment();
+        Automaton generatedAutomaton = cachedAutomaton != null
+            ? cachedAutomaton
             : AutomatonUtils.createAutomaton(regexStr, matchFullString, cache);
 
         String prefix = matchFullString ? "" : "*";
@@ -62,6 +73,14 @@ public class RegexStringGenerator implements StringGenerator {
         this.automaton = generatedAutomaton;
     }
 
+    public static long getAutomatonCacheHits() {
+        return automatonCacheHits.sum();
+    }
+
+    public static long getAutomatonCacheMisses() {
+        return automatonCacheMisses.sum();
+    }
+
     @Override
     public String toString() {
         if (regexRepresentation != null) {
@@ -18,16 +18,19 @@ package com.scottlogic.deg.generator.guice;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.generator.config.detail.DataGenerationType;
 import com.scottlogic.deg.generator.generation.GenerationConfigSource;
 import com.scottlogic.deg.generator.generation.combinationstrategies.*;
 
 public class CombinationStrategyProvider  implements Provider<CombinationStrategy> {
     private final GenerationConfigSource config;
+    private final GenerationMetrics metrics;
 
     @Inject
-    public CombinationStrategyProvider(GenerationConfigSource config){
+    public CombinationStrategyProvider(GenerationConfigSource config, GenerationMetrics metrics){
         this.config = config;
+        this.metrics = metrics;
     }
 
     @Override
@@ -35,13 +38,13 @@ public class CombinationStrategyProvider  implements Provider<CombinationStrateg
         if (config.getGenerationType() == DataGenerationType.RANDOM){
             // The minimal combination strategy doesn't reuse values for fields.
             // This is required to get truly random data.
-            return new MinimalCombinationStrategy();
+            return new MinimalCombinationStrategy(metrics);
         }
 
         switch(config.getCombinationStrategyType()){
-            case EXHAUSTIVE: return new ExhaustiveCombinationStrategy();
-            case PINNING: return new PinningCombinationStrategy();
-            case MINIMAL: return new MinimalCombinationStrategy();
+            case EXHAUSTIVE: return new ExhaustiveCombinationStrategy(metrics);
+            case PINNING: return new PinningCombinationStrategy(metrics);
+            case MINIMAL: return new MinimalCombinationStrategy(metrics);
             default:
                 throw new UnsupportedOperationException(
                     "$Combination strategy {this.combinationStrategy} is unsupported.");
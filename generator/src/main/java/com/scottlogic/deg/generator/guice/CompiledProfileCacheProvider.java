@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.guice;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.scottlogic.deg.generator.generation.DataGeneratorMonitor;
+import com.scottlogic.deg.generator.generation.GenerationConfigSource;
+import com.scottlogic.deg.generator.generation.profilecache.CompiledProfileCache;
+import com.scottlogic.deg.generator.generation.profilecache.FileCompiledProfileCache;
+import com.scottlogic.deg.generator.generation.profilecache.NoCompiledProfileCache;
+
+public class CompiledProfileCacheProvider implements Provider<CompiledProfileCache> {
+    private final GenerationConfigSource config;
+    private final DataGeneratorMonitor monitor;
+
+    @Inject
+    public CompiledProfileCacheProvider(GenerationConfigSource config, DataGeneratorMonitor monitor) {
+        this.config = config;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public CompiledProfileCache get() {
+        if (config.getProfileCacheDirectory() == null) {
+            return new NoCompiledProfileCache();
+        }
+
+        return new FileCompiledProfileCache(
+            config.getProfileCacheDirectory(),
+            monitor::addLineToPrintAtEndOfGeneration);
+    }
+}
@@ -19,17 +19,19 @@ package com.scottlogic.deg.generator.guice;
 import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
 import com.google.inject.name.Names;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.generator.config.detail.DataGenerationType;
 import com.scottlogic.deg.generator.generation.*;
 import com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategy;
+import com.scottlogic.deg.generator.generation.metrics.MetricsReporter;
+import com.scottlogic.deg.generator.generation.profilecache.CompiledProfileCache;
 import com.scottlogic.deg.generator.inputs.validation.ProfileValidator;
 import com.scottlogic.deg.generator.inputs.validation.UniquenessValidator;
-import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.SplittableRandomNumberGenerator;
 import com.scottlogic.deg.generator.walker.DecisionTreeWalker;
 import com.scottlogic.deg.generator.walker.decisionbased.OptionPicker;
 
-import java.time.OffsetDateTime;
-
 /**
  * Class to define default bindings for Guice injection. Utilises the generation config source to determine which
  * 'generate' classes should be bound for this execution run.
@@ -51,6 +53,9 @@ public class GeneratorModule extends AbstractModule {
         bind(AbstractDataGeneratorMonitor.class).toProvider(MonitorProvider.class).in(Singleton.class);
         bind(CombinationStrategy.class).toProvider(CombinationStrategyProvider.class);
         bind(OptionPicker.class).toProvider(OptionPickerProvider.class);
+        bind(CompiledProfileCache.class).toProvider(CompiledProfileCacheProvider.class).in(Singleton.class);
+        bind(GenerationMetrics.class).in(Singleton.class);
+        bind(MetricsReporter.class).toProvider(MetricsReporterProvider.class).in(Singleton.class);
 
         // bind config directly
         bind(DataGenerationType.class).toInstance(generationConfigSource.getGenerationType());
@@ -64,7 +69,7 @@ public class GeneratorModule extends AbstractModule {
         bind(DataGeneratorMonitor.class).to(AbstractDataGeneratorMonitor.class);
         bind(DataGenerator.class).to(DecisionTreeDataGenerator.class);
 
-        bind(JavaUtilRandomNumberGenerator.class)
-            .toInstance(new JavaUtilRandomNumberGenerator(OffsetDateTime.now().getNano()));
+        bind(RandomNumberGenerator.class)
+            .toInstance(new SplittableRandomNumberGenerator(generationConfigSource.getSeed()));
     }
 }
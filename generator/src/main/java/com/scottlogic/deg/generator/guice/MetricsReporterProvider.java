@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.guice;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.generator.generation.GenerationConfigSource;
+import com.scottlogic.deg.generator.generation.metrics.JsonLinesMetricsReporter;
+import com.scottlogic.deg.generator.generation.metrics.MetricsReporter;
+import com.scottlogic.deg.generator.generation.metrics.NoopMetricsReporter;
+
+public class MetricsReporterProvider implements Provider<MetricsReporter> {
+    private final GenerationConfigSource config;
+    private final GenerationMetrics metrics;
+
+    @Inject
+    public MetricsReporterProvider(GenerationConfigSource config, GenerationMetrics metrics) {
+        this.config = config;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public MetricsReporter get() {
+        if (config.getMetricsFile() == null) {
+            return new NoopMetricsReporter();
+        }
+
+        return new JsonLinesMetricsReporter(config.getMetricsFile(), metrics);
+    }
+}
@@ -18,18 +18,22 @@ package com.scottlogic.deg.generator.guice;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.generator.generation.*;
 
 import java.io.PrintWriter;
 
 public class MonitorProvider implements Provider<AbstractDataGeneratorMonitor>  {
     private GenerationConfigSource commandLine;
+    private GenerationMetrics metrics;
 
     @Inject
     MonitorProvider(
-        GenerationConfigSource commandLine) {
+        GenerationConfigSource commandLine,
+        GenerationMetrics metrics) {
 
         this.commandLine = commandLine;
+        this.metrics = metrics;
     }
 
     @Override
@@ -44,7 +48,8 @@ public class MonitorProvider implements Provider<AbstractDataGeneratorMonitor>
 
             default:
                 return new VelocityMonitor(
-                    new PrintWriter(System.err, true));
+                    new PrintWriter(System.err, true),
+                    metrics);
         }
     }
 }
@@ -38,6 +38,8 @@ import java.util.stream.Collectors;
  * I.E. VIOLATE(A,B,C) => VIOLATE(A),B,C OR A,VIOLATE(B),C OR A,B,VIOLATE(C)
  */
 public class IndividualConstraintRuleViolator implements RuleViolator {
+    private static final int MAX_EXPANDED_CONSTRAINTS = 3;
+
     private final List<ViolationFilter> constraintsToNotViolate;
 
     @Inject
@@ -74,28 +76,9 @@ public class IndividualConstraintRuleViolator implements RuleViolator {
      * @return Constraint with violated logic
      */
     private Constraint violateConstraint(Constraint constraint) {
-        // VIOLATE(AND(X, Y, Z)) reduces to
-        //   OR(
-        //     AND(VIOLATE(X), Y, Z),
-        //     AND(X, VIOLATE(Y), Z),
-        //     AND(X, Y, VIOLATE(Z)))
+        // VIOLATE(AND(X, Y, Z)) violates exactly one of X, Y and Z, see violateExactlyOne
         if (constraint instanceof AndConstraint) {
-            Collection<Constraint> subConstraints = ((AndConstraint) constraint).getSubConstraints();
-
-            Collection<Constraint> violatedIndividually =
-                subConstraints.stream()
-                    // for each subconstraint X, make a copy of the original list but with X replaced by VIOLATE(X)
-                    .map(constraintToViolate ->
-                        subConstraints.stream()
-                            .map(c -> c == constraintToViolate
-                                ? violateConstraint(c)
-                                : c)
-                            .collect(Collectors.toList()))
-                    // make an AndConstraint out of each of the new lists
-                    .map(AndConstraint::new)
-                    .collect(Collectors.toList());
-
-            return new OrConstraint(violatedIndividually);
+            return violateExactlyOne(new ArrayList<>(((AndConstraint) constraint).getSubConstraints()));
         }
         // VIOLATE(OR(X, Y, Z)) reduces to AND(VIOLATE(X), VIOLATE(Y), VIOLATE(Z))
         else if (constraint instanceof OrConstraint) {
@@ -148,6 +131,63 @@ public class IndividualConstraintRuleViolator implements RuleViolator {
         }
     }
 
+    /**
+     * Violates exactly one of the given constraints, leaving the rest to hold.
+     * Short lists are expanded in full, as one option per constraint:
+     *   VIOLATE(AND(X, Y, Z)) reduces to
+     *     OR(
+     *       AND(VIOLATE(X), Y, Z),
+     *       AND(X, VIOLATE(Y), Z),
+     *       AND(X, Y, VIOLATE(Z)))
+     * Each option repeats every other constraint, so longer lists are split in half instead, with one half violated
+     * while the other holds:
+     *   VIOLATE(AND(W, X, Y, Z)) reduces to
+     *     OR(
+     *       AND(VIOLATE(AND(W, X)), Y, Z),
+     *       AND(W, X, VIOLATE(AND(Y, Z))))
+     * which keeps the violation at O(n log n) constraints rather than O(n^2).
+     * @param constraints Constraints of which one is to be violated
+     * @return Constraint with violated logic
+     */
+    private Constraint violateExactlyOne(List<Constraint> constraints) {
+        if (constraints.size() <= MAX_EXPANDED_CONSTRAINTS) {
+            Collection<Constraint> violatedIndividually =
+                constraints.stream()
+                    // for each subconstraint X, make a copy of the original list but with X replaced by VIOLATE(X)
+                    .map(constraintToViolate ->
+                        constraints.stream()
+                            .map(c -> c == constraintToViolate
+                                ? violateConstraint(c)
+                                : c)
+                            .collect(Collectors.toList()))
+                    // make an AndConstraint out of each of the new lists
+                    .map(AndConstraint::new)
+                    .collect(Collectors.toList());
+
+            return new OrConstraint(violatedIndividually);
+        }
+
+        List<Constraint> firstHalf = constraints.subList(0, constraints.size() / 2);
+        List<Constraint> secondHalf = constraints.subList(constraints.size() / 2, constraints.size());
+
+        return new OrConstraint(
+            new AndConstraint(concat(violateExactlyOne(firstHalf), secondHalf)),
+            new AndConstraint(concat(firstHalf, violateExactlyOne(secondHalf))));
+    }
+
+    private static List<Constraint> concat(Constraint violated, List<Constraint> held) {
+        List<Constraint> constraints = new ArrayList<>(held.size() + 1);
+        constraints.add(violated);
+        constraints.addAll(held);
+        return constraints;
+    }
+
+    private static List<Constraint> concat(List<Constraint> held, Constraint violated) {
+        List<Constraint> constraints = new ArrayList<>(held);
+        constraints.add(violated);
+        return constraints;
+    }
+
     /**
      * Checks that the constraint can be violated given all of the Violation Filters.
      * @param constraint Constraint to check.
@@ -30,6 +30,10 @@ public class NumericGranularity implements Granularity<BigDecimal> {
         this.decimalPlaces = decimalPlaces;
     }
 
+    public int getDecimalPlaces() {
+        return decimalPlaces;
+    }
+
     @Override
     public boolean isCorrectScale(BigDecimal value) {
         return value.stripTrailingZeros().scale() <= decimalPlaces;
@@ -62,6 +62,33 @@ public class JavaUtilRandomNumberGenerator implements RandomNumberGenerator {
         }
     }
 
+    @Override
+    public long nextLong(long lowerInclusive, long upperExclusive) {
+        // implementation copied from Random::internalNextLong
+        long r = random.nextLong();
+        if (lowerInclusive < upperExclusive) {
+            long n = upperExclusive - lowerInclusive;
+            long m = n - 1;
+            if ((n & m) == 0L) { // power of two
+                return (r & m) + lowerInclusive;
+            }
+            else if (n > 0L) { // reject over-represented candidates
+                long u = r >>> 1;
+                while (u + m - (r = u % n) < 0L) {
+                    u = random.nextLong() >>> 1;
+                }
+                return r + lowerInclusive;
+            }
+            else { // range not representable as long
+                while (r < lowerInclusive || r >= upperExclusive) {
+                    r = random.nextLong();
+                }
+                return r;
+            }
+        }
+        return r;
+    }
+
     @Override
     public double nextDouble(double lowerInclusive, double upperExclusive) {
         return random.nextDouble() * (upperExclusive - lowerInclusive) + lowerInclusive;
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.utils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Callable;
+
+/**
+ * A RandomNumberGenerator for generating several datasets at once. Generation components share one instance, and
+ * each call is passed on to the generator given to the calling thread with {@link #callWith}, so every dataset gets
+ * its own random stream however its work is scheduled.
+ *
+ * Threads that haven't been given a generator use the root generator, which must then only be used from one thread.
+ */
+public class PerThreadRandomNumberGenerator implements RandomNumberGenerator {
+    private final SplittableRandomNumberGenerator root;
+    private final ThreadLocal<RandomNumberGenerator> current;
+
+    public PerThreadRandomNumberGenerator(SplittableRandomNumberGenerator root) {
+        this.root = root;
+        this.current = ThreadLocal.withInitial(() -> root);
+    }
+
+    /** @return an independent generator, split from the root one; splitting in a fixed order keeps runs repeatable */
+    public SplittableRandomNumberGenerator split() {
+        return root.split();
+    }
+
+    public <T> T callWith(RandomNumberGenerator generator, Callable<T> task) throws Exception {
+        current.set(generator);
+        try {
+            return task.call();
+        } finally {
+            current.remove();
+        }
+    }
+
+    @Override
+    public int nextInt() {
+        return current.get().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return current.get().nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int lowerInclusive, int upperExclusive) {
+        return current.get().nextInt(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public long nextLong(long lowerInclusive, long upperExclusive) {
+        return current.get().nextLong(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public double nextDouble(double lowerInclusive, double upperExclusive) {
+        return current.get().nextDouble(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive) {
+        return current.get().nextBigDecimal(lowerInclusive, upperExclusive);
+    }
+}
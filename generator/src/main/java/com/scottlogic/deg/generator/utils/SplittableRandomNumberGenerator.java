@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.utils;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+/**
+ * A RandomNumberGenerator backed by SplittableRandom (SplitMix64). Unlike java.util.Random it does no
+ * synchronisation, so an instance must only be used from one thread at a time; use split() to give
+ * other threads their own independent stream.
+ */
+public class SplittableRandomNumberGenerator implements RandomNumberGenerator {
+    private final SplittableRandom random;
+
+    public SplittableRandomNumberGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomNumberGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public SplittableRandomNumberGenerator split() {
+        return new SplittableRandomNumberGenerator(random.split());
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int lowerInclusive, int upperExclusive) {
+        if (lowerInclusive >= upperExclusive) {
+            return random.nextInt();
+        }
+        return random.nextInt(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public long nextLong(long lowerInclusive, long upperExclusive) {
+        if (lowerInclusive >= upperExclusive) {
+            return random.nextLong();
+        }
+        return random.nextLong(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public double nextDouble(double lowerInclusive, double upperExclusive) {
+        return random.nextDouble() * (upperExclusive - lowerInclusive) + lowerInclusive;
+    }
+
+    @Override
+    public BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive) {
+        return new BigDecimal(random.nextDouble())
+            .multiply(upperExclusive.subtract(lowerInclusive))
+            .add(lowerInclusive);
+    }
+}
@@ -3,18 +3,19 @@ package com.scottlogic.deg.generator.walker.decisionbased;
 import com.google.inject.Inject;
 import com.scottlogic.deg.generator.decisiontree.ConstraintNode;
 import com.scottlogic.deg.generator.decisiontree.DecisionNode;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Stream;
 
 public class RandomOptionPicker implements OptionPicker {
-    private final Random random;
+    private final RandomNumberGenerator random;
 
-    public RandomOptionPicker() {
-        this.random = new Random();
+    @Inject
+    public RandomOptionPicker(RandomNumberGenerator random) {
+        this.random = random;
     }
 
     @Override
@@ -27,7 +28,14 @@ public class RandomOptionPicker implements OptionPicker {
     @Override
     public Stream<ConstraintNode> streamOptions(DecisionNode decisionNode) {
         List<ConstraintNode> options = new ArrayList<>(decisionNode.getOptions());
-        Collections.shuffle(options);
+        shuffle(options);
         return options.stream();
     }
+
+    // Fisher-Yates, as Collections.shuffle only accepts a java.util.Random
+    private void shuffle(List<ConstraintNode> options) {
+        for (int i = options.size() - 1; i > 0; i--) {
+            Collections.swap(options, i, random.nextInt(i + 1));
+        }
+    }
 }
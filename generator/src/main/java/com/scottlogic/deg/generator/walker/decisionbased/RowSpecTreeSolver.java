@@ -1,6 +1,9 @@
 package com.scottlogic.deg.generator.walker.decisionbased;
 
 import com.google.inject.Inject;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import com.scottlogic.deg.common.metrics.StageTimer;
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.common.profile.constraints.atomic.AtomicConstraint;
@@ -24,14 +27,21 @@ public class RowSpecTreeSolver {
     private final ConstraintReducer constraintReducer;
     private final TreePruner treePruner;
     private final OptionPicker optionPicker;
+    private final StageTimer solvingTimer;
+    private final StageTimer pruningTimer;
+    private final GenerationMetrics metrics;
 
     @Inject
     public RowSpecTreeSolver(ConstraintReducer constraintReducer,
                              TreePruner treePruner,
-                             OptionPicker optionPicker) {
+                             OptionPicker optionPicker,
+                             GenerationMetrics metrics) {
         this.constraintReducer = constraintReducer;
         this.treePruner = treePruner;
         this.optionPicker = optionPicker;
+        this.solvingTimer = metrics.stage(GenerationStage.TREE_SOLVING);
+        this.pruningTimer = metrics.stage(GenerationStage.PRUNING);
+        this.metrics = metrics;
     }
 
     public Stream<RowSpec> createRowSpecs(DecisionTree tree) {
@@ -40,7 +50,7 @@ public class RowSpecTreeSolver {
     }
 
     private RowSpec toRowspec(ProfileFields fields, ConstraintNode rootNode) {
-        return constraintReducer.reduceConstraintsToRowSpec(fields, rootNode).get();
+        return solvingTimer.time(() -> constraintReducer.reduceConstraintsToRowSpec(fields, rootNode).get());
     }
 
     private Stream<ConstraintNode> reduceToRowNodes(ConstraintNode rootNode) {
@@ -68,7 +78,12 @@ public class RowSpecTreeSolver {
             .addDelayedAtomicConstraints(option.getDelayedAtomicConstraints())
             .build();
 
-        return treePruner.pruneConstraintNode(constraintNode, getFields(option));
+        Merged<ConstraintNode> pruned =
+            pruningTimer.time(() -> treePruner.pruneConstraintNode(constraintNode, getFields(option)));
+        if (pruned.isContradictory()) {
+            metrics.pruningContradiction();
+        }
+        return pruned;
     }
 
     private Map<Field, FieldSpec> getFields(ConstraintNode option) {
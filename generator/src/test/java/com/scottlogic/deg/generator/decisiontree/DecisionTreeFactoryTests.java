@@ -538,6 +538,29 @@ class DecisionTreeFactoryTests {
         return match;
     }
 
+    @Test
+    void analyse_withRuleSharedWithPreviousProfile_reusesItsConvertedNode() {
+        List<Field> fields = Arrays.asList(fieldA, fieldB);
+        Rule sharedRule = new Rule(rule("shared"), Collections.singletonList(new OrConstraint(
+            new IsGreaterThanConstantConstraint(fieldA, BigDecimal.valueOf(0)),
+            new IsGreaterThanConstantConstraint(fieldB, BigDecimal.valueOf(0)))));
+        Rule originalRule = new Rule(rule("original"), Collections.singletonList(
+            new IsGreaterThanConstantConstraint(fieldA, BigDecimal.valueOf(10))));
+        Rule violatedRule = new Rule(rule("violated"), Collections.singletonList(
+            new IsGreaterThanConstantConstraint(fieldA, BigDecimal.valueOf(10)).negate()));
+        DecisionTreeFactory testObject = new DecisionTreeFactory();
+
+        DecisionTree original = testObject.analyse(new Profile(fields, Arrays.asList(sharedRule, originalRule)));
+        DecisionTree violated = testObject.analyse(new Profile(fields, Arrays.asList(sharedRule, violatedRule)));
+
+        Assert.assertThat(
+            violated.getRootNode().getDecisions().iterator().next(),
+            sameInstance(original.getRootNode().getDecisions().iterator().next()));
+        Assert.assertThat(
+            violated.getRootNode().getAtomicConstraints(),
+            not(equalTo(original.getRootNode().getAtomicConstraints())));
+    }
+
     private static RuleInformation rule(String description){
         return new RuleInformation(description);
     }
@@ -16,6 +16,7 @@
 
 package com.scottlogic.deg.generator.decisiontree;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.Profile;
 import com.scottlogic.deg.common.profile.ProfileFields;
@@ -53,7 +54,8 @@ class RowSpecTreeSolverTests {
     private final RowSpecTreeSolver dTreeWalker = new RowSpecTreeSolver(
         constraintReducer,
         new TreePruner(new FieldSpecMerger(), constraintReducer, new FieldSpecHelper()),
-        new SequentialOptionPicker());
+        new SequentialOptionPicker(),
+        new GenerationMetrics());
 
     private final DecisionTreeFactory dTreeGenerator = new DecisionTreeFactory();
 
@@ -16,6 +16,7 @@
 
 package com.scottlogic.deg.generator.generation;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.common.output.GeneratedObject;
 import com.scottlogic.deg.common.profile.Profile;
 import com.scottlogic.deg.generator.decisiontree.ConstraintNode;
@@ -25,6 +26,7 @@ import com.scottlogic.deg.generator.decisiontree.DecisionTreeOptimiser;
 import com.scottlogic.deg.generator.decisiontree.treepartitioning.TreePartitioner;
 import com.scottlogic.deg.generator.generation.combinationstrategies.CombinationStrategy;
 import com.scottlogic.deg.generator.generation.databags.DataBag;
+import com.scottlogic.deg.generator.generation.profilecache.NoCompiledProfileCache;
 import com.scottlogic.deg.generator.walker.DecisionTreeWalker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -65,6 +67,8 @@ public class DecisionTreeDataGeneratorTests {
             monitor,
             combinationStrategy,
             upfrontTreePruner,
+            new NoCompiledProfileCache(),
+            new GenerationMetrics(),
             maxRows
         );
     }
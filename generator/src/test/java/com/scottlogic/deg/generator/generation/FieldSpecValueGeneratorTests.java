@@ -16,6 +16,7 @@
 
 package com.scottlogic.deg.generator.generation;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.Types;
 import com.scottlogic.deg.generator.fieldspecs.FieldSpec;
@@ -51,7 +52,8 @@ class FieldSpecValueGeneratorTests {
         FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
             INTERESTING,
             new FieldValueSourceEvaluator(),
-            new JavaUtilRandomNumberGenerator());
+            new JavaUtilRandomNumberGenerator(),
+            new GenerationMetrics());
 
         final Set<DataBagValue> result = fieldSpecFulfiller.generate(createField(null), fieldSpec).collect(Collectors.toSet());
 
@@ -72,7 +74,8 @@ class FieldSpecValueGeneratorTests {
         FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
             INTERESTING,
             new FieldValueSourceEvaluator(),
-            new JavaUtilRandomNumberGenerator());
+            new JavaUtilRandomNumberGenerator(),
+            new GenerationMetrics());
 
         final Set<DataBagValue> result =
             fieldSpecFulfiller.generate(createField(null, NUMERIC), fieldSpec).collect(Collectors.toSet());
@@ -118,7 +121,8 @@ class FieldSpecValueGeneratorTests {
             FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
                 RANDOM,
                 fieldValueSourceEvaluator,
-                randomNumberGenerator
+                randomNumberGenerator,
+                new GenerationMetrics()
             );
 
             fieldSpecFulfiller.generate(new Field(null, Types.STRING, true, null), fieldSpec).collect(Collectors.toSet());
@@ -135,7 +139,8 @@ class FieldSpecValueGeneratorTests {
             FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
                 RANDOM,
                 fieldValueSourceEvaluator,
-                randomNumberGenerator
+                randomNumberGenerator,
+                new GenerationMetrics()
             );
 
             fieldSpecFulfiller.generate(createField(null), fieldSpec).collect(Collectors.toSet());
@@ -152,7 +157,8 @@ class FieldSpecValueGeneratorTests {
             FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
                 INTERESTING,
                 fieldValueSourceEvaluator,
-                randomNumberGenerator
+                randomNumberGenerator,
+                new GenerationMetrics()
             );
 
             fieldSpecFulfiller.generate(new Field(null, STRING, true, null), fieldSpec).collect(Collectors.toSet());
@@ -169,7 +175,8 @@ class FieldSpecValueGeneratorTests {
             FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
                 INTERESTING,
                 fieldValueSourceEvaluator,
-                randomNumberGenerator
+                randomNumberGenerator,
+                new GenerationMetrics()
             );
 
             fieldSpecFulfiller.generate(createField(null), fieldSpec).collect(Collectors.toSet());
@@ -186,7 +193,8 @@ class FieldSpecValueGeneratorTests {
             FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
                 FULL_SEQUENTIAL,
                 fieldValueSourceEvaluator,
-                randomNumberGenerator
+                randomNumberGenerator,
+                new GenerationMetrics()
             );
 
             fieldSpecFulfiller.generate(createField(null), fieldSpec).collect(Collectors.toSet());
@@ -203,7 +211,8 @@ class FieldSpecValueGeneratorTests {
             FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
                 FULL_SEQUENTIAL,
                 fieldValueSourceEvaluator,
-                randomNumberGenerator
+                randomNumberGenerator,
+                new GenerationMetrics()
             );
 
             fieldSpecFulfiller.generate(createField(null), fieldSpec).collect(Collectors.toSet());
@@ -16,6 +16,7 @@
 
 package com.scottlogic.deg.generator.generation;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -33,7 +34,7 @@ public class VelocityMonitorTests {
     public void endGeneration_printsAllSavedMessages() {
         //Arrange
         PrintWriter mockWriter = Mockito.mock(PrintWriter.class);
-        VelocityMonitor monitor = new VelocityMonitor(mockWriter);
+        VelocityMonitor monitor = new VelocityMonitor(mockWriter, new GenerationMetrics());
         String firstString = "First St-- HELP I'M TRAPPED IN A PRINT STREAM FACTORY --ring.";
         String secondString = "Second String";
         List<String> expectedStrings = Arrays.asList(firstString, secondString);
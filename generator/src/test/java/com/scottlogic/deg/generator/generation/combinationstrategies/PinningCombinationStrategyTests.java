@@ -16,6 +16,7 @@
 
 package com.scottlogic.deg.generator.generation.combinationstrategies;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -28,7 +29,7 @@ class PinningCombinationStrategyTests {
 
     @BeforeEach
     void beforeEach() {
-        tester = new CombinationStrategyTester(new PinningCombinationStrategy());
+        tester = new CombinationStrategyTester(new PinningCombinationStrategy(new GenerationMetrics()));
     }
 
     @Test
@@ -16,6 +16,7 @@
 
 package com.scottlogic.deg.generator.generation.databags;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.generator.builders.DataBagBuilder;
@@ -37,7 +38,7 @@ import static com.scottlogic.deg.common.profile.FieldBuilder.createField;
 
 class RowSpecDataBagGeneratorTests {
 
-    private CombinationStrategy exhaustiveCombinationStrategy = new ExhaustiveCombinationStrategy();
+    private CombinationStrategy exhaustiveCombinationStrategy = new ExhaustiveCombinationStrategy(new GenerationMetrics());
     private FieldSpecValueGenerator mockGeneratorFactory = mock(FieldSpecValueGenerator.class);
     private CombinationStrategy mockCombinationStrategy = mock(CombinationStrategy.class);
 
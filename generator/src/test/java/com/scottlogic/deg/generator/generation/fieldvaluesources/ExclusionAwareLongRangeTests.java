@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources;
+
+import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.*;
+
+class ExclusionAwareLongRangeTests {
+    @Test
+    void size_withExclusionsInsideAndOutsideRange_countsOnlyPermittedValues() {
+        ExclusionAwareLongRange range = new ExclusionAwareLongRange(0, 9, LongStream.of(-1, 3, 3, 5, 10));
+
+        Assert.assertThat(range.size(), equalTo(8L));
+    }
+
+    @Test
+    void size_withMaxBelowMin_isZero() {
+        ExclusionAwareLongRange range = new ExclusionAwareLongRange(5, 4, LongStream.empty());
+
+        Assert.assertThat(range.size(), equalTo(0L));
+    }
+
+    @Test
+    void stream_skipsExcludedValuesIncludingBounds() {
+        ExclusionAwareLongRange range = new ExclusionAwareLongRange(0, 9, LongStream.of(0, 1, 4, 5, 6, 9));
+
+        List<Long> values = range.stream().boxed().collect(Collectors.toList());
+
+        Assert.assertThat(values, contains(2L, 3L, 7L, 8L));
+    }
+
+    @Test
+    void stream_withEveryValueExcluded_isEmpty() {
+        ExclusionAwareLongRange range = new ExclusionAwareLongRange(-2, 2, LongStream.rangeClosed(-2, 2));
+
+        Assert.assertThat(range.stream().count(), equalTo(0L));
+    }
+
+    @Test
+    void stream_overHugeRange_isLazy() {
+        ExclusionAwareLongRange range = new ExclusionAwareLongRange(0, Long.MAX_VALUE - 1, LongStream.of(1));
+
+        List<Long> values = range.stream().limit(3).boxed().collect(Collectors.toList());
+
+        Assert.assertThat(values, contains(0L, 2L, 3L));
+    }
+
+    @Test
+    void contains_reportsExcludedAndOutOfRangeValuesAsAbsent() {
+        ExclusionAwareLongRange range = new ExclusionAwareLongRange(0, 9, LongStream.of(4));
+
+        Assert.assertTrue(range.contains(0));
+        Assert.assertTrue(range.contains(9));
+        Assert.assertFalse(range.contains(4));
+        Assert.assertFalse(range.contains(10));
+    }
+
+    @Test
+    void nextRandom_withMostOfRangeExcluded_onlyPicksPermittedValues() {
+        ExclusionAwareLongRange range = new ExclusionAwareLongRange(
+            0,
+            999_999,
+            LongStream.rangeClosed(0, 999_999).filter(value -> value != 17 && value != 999_999));
+        RandomNumberGenerator random = new JavaUtilRandomNumberGenerator(0);
+
+        Set<Long> values = Stream.generate(() -> range.nextRandom(random))
+            .limit(100)
+            .collect(Collectors.toSet());
+
+        Assert.assertThat(values, containsInAnyOrder(17L, 999_999L));
+    }
+
+    @Test
+    void nextRandom_picksEveryPermittedValue() {
+        ExclusionAwareLongRange range = new ExclusionAwareLongRange(10, 20, LongStream.of(10, 12, 13, 20));
+        RandomNumberGenerator random = new JavaUtilRandomNumberGenerator(0);
+
+        Set<Long> values = Stream.generate(() -> range.nextRandom(random))
+            .limit(1000)
+            .collect(Collectors.toSet());
+
+        Assert.assertThat(values, containsInAnyOrder(11L, 14L, 15L, 16L, 17L, 18L, 19L));
+    }
+}
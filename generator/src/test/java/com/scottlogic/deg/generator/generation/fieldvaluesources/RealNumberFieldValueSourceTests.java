@@ -31,6 +31,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.scottlogic.deg.generator.restrictions.linear.LinearRestrictionsFactory.createNumericRestrictions;
@@ -144,6 +145,17 @@ class RealNumberFieldValueSourceTests {
         expectAllValues("-0.04", "-0.02", "-0.01", "0.01", "0.03", "0.04");
     }
 
+    @Test
+    void whenBlacklistHasDifferentScaleToGeneratedValues() {
+        givenLowerBound(new BigDecimal("99999999999999999995"), true);
+        givenUpperBound(1e30, true);
+        givenScale(0);
+
+        givenBlacklist(new BigDecimal("99999999999999999997.00"), new BigDecimal("1.000E+20"));
+
+        expectAllValues("99999999999999999995", "99999999999999999996", "99999999999999999998", "99999999999999999999");
+    }
+
     @Test
     void shouldSupplyInterestingValues() {
         givenLowerBound(-10, true);
@@ -229,6 +241,58 @@ class RealNumberFieldValueSourceTests {
         expectCorrectRandomValues();
     }
 
+    @Test
+    void shouldGenerateOnlyRemainingValueWhenBlacklistCoversRestOfRange() {
+        givenLowerBound(0, true);
+        givenUpperBound(10000, true);
+        givenScale(0);
+
+        givenBlacklist(IntStream.rangeClosed(0, 10000).filter(i -> i != 4321).boxed().toArray());
+
+        Stream<Object> values = getObjectUnderTest().generateRandomValues(new JavaUtilRandomNumberGenerator(0));
+
+        Assert.assertThat(values.limit(100).collect(Collectors.toSet()), contains(new BigDecimal(4321)));
+    }
+
+    @Test
+    void shouldGenerateNoRandomValuesWhenBlacklistCoversWholeRange() {
+        givenLowerBound(3, true);
+        givenUpperBound(5, true);
+        givenScale(0);
+
+        givenBlacklist(3, 4, 5);
+
+        Stream<Object> values = getObjectUnderTest().generateRandomValues(new JavaUtilRandomNumberGenerator(0));
+
+        Assert.assertThat(values.count(), equalTo(0L));
+    }
+
+    @Test
+    void shouldGenerateNoRandomValuesWhenBlacklistCoversWholeOffGranularityRange() {
+        givenLowerBound(0.1, true);
+        givenUpperBound(0.35, true);
+        givenScale(1);
+
+        givenBlacklist(0.1, 0.2, 0.3);
+
+        Stream<Object> values = getObjectUnderTest().generateRandomValues(new JavaUtilRandomNumberGenerator(0));
+
+        Assert.assertThat(values.count(), equalTo(0L));
+    }
+
+    @Test
+    void shouldGenerateOnlyGranularValuesWithinOffGranularityRange() {
+        givenLowerBound(0.15, true);
+        givenUpperBound(0.35, true);
+        givenScale(1);
+
+        givenBlacklist(0.2);
+
+        Stream<Object> values = getObjectUnderTest().generateRandomValues(new JavaUtilRandomNumberGenerator(0));
+
+        Assert.assertThat(values.limit(100).collect(Collectors.toSet()), contains(new BigDecimal("0.3")));
+    }
+
     @Test
     void shouldSupplyToUpperBoundary() {
         givenLowerBound(4, true);
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources;
+
+import com.scottlogic.deg.generator.restrictions.linear.LinearRestrictions;
+import com.scottlogic.deg.generator.restrictions.linear.NumericGranularity;
+import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.scottlogic.deg.generator.utils.SetUtils.stream;
+import static org.hamcrest.Matchers.*;
+
+class ScaledLongRangeTests {
+    @Test
+    void fromRestrictions_boundsFitInLong_isPresent() {
+        Assert.assertTrue(ScaledLongRange.fromRestrictions(restrictions("-1000000", "1000000", 5), Collections.emptySet()).isPresent());
+    }
+
+    @Test
+    void fromRestrictions_scaledBoundsTooLargeForLong_isEmpty() {
+        Assert.assertFalse(ScaledLongRange.fromRestrictions(restrictions("-1e20", "1e20", 0), Collections.emptySet()).isPresent());
+    }
+
+    @Test
+    void generateAllValues_boundsNotOnGranularity_snapsBoundsInwards() {
+        ScaledLongRange range = ScaledLongRange.fromRestrictions(restrictions("0.65", "1.15", 1), Collections.emptySet()).get();
+
+        Assert.assertThat(range.generateAllValues().collect(Collectors.toList()), contains(
+            new BigDecimal("0.7"), new BigDecimal("0.8"), new BigDecimal("0.9"), new BigDecimal("1.0"), new BigDecimal("1.1")));
+    }
+
+    @Test
+    void generateAllValues_noGranularValueBetweenBounds_isEmpty() {
+        ScaledLongRange range = ScaledLongRange.fromRestrictions(restrictions("0.61", "0.69", 1), Collections.emptySet()).get();
+
+        Assert.assertThat(range.generateAllValues().count(), equalTo(0L));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "-1,   1,    1",
+        "1,    2,    2",
+        "1.00, 1.5,  1",
+        "10,   100, -1",
+        "-5,   5,    0"
+    })
+    void generateAllValues_producesSameValuesAsLinearIterator(String min, String max, int scale) {
+        LinearRestrictions<BigDecimal> restrictions = restrictions(min, max, scale);
+
+        List<BigDecimal> expected = stream(new LinearIterator<>(restrictions)).collect(Collectors.toList());
+        List<BigDecimal> actual = ScaledLongRange.fromRestrictions(restrictions, Collections.emptySet()).get()
+            .generateAllValues()
+            .collect(Collectors.toList());
+
+        Assert.assertThat(actual, equalTo(expected));
+    }
+
+    @Test
+    void generateRandomValues_producesValuesAtGranularityIncludingBothBounds() {
+        ScaledLongRange range = ScaledLongRange.fromRestrictions(restrictions("1", "1.5", 1), Collections.emptySet()).get();
+
+        Set<BigDecimal> values = range.generateRandomValues(new JavaUtilRandomNumberGenerator(0))
+            .limit(1000)
+            .collect(Collectors.toCollection(HashSet::new));
+
+        Assert.assertThat(values, containsInAnyOrder(
+            new BigDecimal("1.0"), new BigDecimal("1.1"), new BigDecimal("1.2"),
+            new BigDecimal("1.3"), new BigDecimal("1.4"), new BigDecimal("1.5")));
+    }
+
+    @Test
+    void generateAllValues_withBlacklist_excludesBlacklistedValues() {
+        ScaledLongRange range = ScaledLongRange.fromRestrictions(
+            restrictions("1", "2", 1),
+            Arrays.asList(new BigDecimal("1.2"), new BigDecimal("1.5"), new BigDecimal("2"))).get();
+
+        List<String> values = range.generateAllValues()
+            .map(BigDecimal::toPlainString)
+            .collect(Collectors.toList());
+
+        Assert.assertThat(values, contains("1", "1.1", "1.3", "1.4", "1.6", "1.7", "1.8", "1.9"));
+    }
+
+    @Test
+    void generateRandomValues_withBlacklist_excludesBlacklistedValues() {
+        ScaledLongRange range = ScaledLongRange.fromRestrictions(
+            restrictions("1", "1.5", 1),
+            Arrays.asList(new BigDecimal("1.2"), new BigDecimal("1.5"))).get();
+
+        Set<BigDecimal> values = range.generateRandomValues(new JavaUtilRandomNumberGenerator(0))
+            .limit(1000)
+            .collect(Collectors.toCollection(HashSet::new));
+
+        Assert.assertThat(values, containsInAnyOrder(
+            new BigDecimal("1.0"), new BigDecimal("1.1"), new BigDecimal("1.3"), new BigDecimal("1.4")));
+    }
+
+    private static LinearRestrictions<BigDecimal> restrictions(String min, String max, int scale) {
+        return new LinearRestrictions<>(new BigDecimal(min), new BigDecimal(max), new NumericGranularity(scale));
+    }
+}
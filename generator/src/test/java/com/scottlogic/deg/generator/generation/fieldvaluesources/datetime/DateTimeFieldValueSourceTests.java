@@ -16,10 +16,12 @@
 
 package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
 
+import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
 import com.scottlogic.deg.common.util.Defaults;
 import com.scottlogic.deg.generator.restrictions.linear.Limit;
 import com.scottlogic.deg.generator.restrictions.linear.LinearRestrictions;
 import com.scottlogic.deg.generator.restrictions.linear.LinearRestrictionsFactory;
+import com.scottlogic.deg.generator.utils.JavaUtilRandomNumberGenerator;
 import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
@@ -28,6 +30,7 @@ import java.math.BigDecimal;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.scottlogic.deg.common.util.Defaults.ISO_MAX_DATE;
 import static com.scottlogic.deg.common.util.Defaults.ISO_MIN_DATE;
@@ -117,7 +120,7 @@ public class DateTimeFieldValueSourceTests {
         iterator = fieldSource.generateRandomValues(rng).iterator();
 
         Assert.assertThat(iterator.next(),
-            equalTo(OffsetDateTime.of(date.atTime(LocalTime.of(14, 59, 59, 999_000_000)), ZoneOffset.UTC)));
+            equalTo(OffsetDateTime.of(date.atTime(LocalTime.of(15, 0, 0)), ZoneOffset.UTC)));
 
     }
 
@@ -189,7 +192,7 @@ public class DateTimeFieldValueSourceTests {
         iterator = fieldSource.generateRandomValues(rng).iterator();
 
         Assert.assertThat(iterator.next(),
-            equalTo(OffsetDateTime.of(date.atTime(LocalTime.of(15, 0, 0)), ZoneOffset.UTC)));
+            equalTo(OffsetDateTime.of(date.atTime(LocalTime.of(15, 0, 0, 1_000_000)), ZoneOffset.UTC)));
     }
 
     @Test
@@ -206,7 +209,41 @@ public class DateTimeFieldValueSourceTests {
         Iterator<OffsetDateTime> iterator = fieldSource.generateRandomValues(rng).iterator();
 
         Assert.assertThat(iterator.next(),
-            equalTo(OffsetDateTime.of(9999, 12, 31, 23, 59, 23, 999_000_000, ZoneOffset.UTC)));
+            equalTo(OffsetDateTime.of(9999, 12, 31, 23, 59, 24, 0, ZoneOffset.UTC)));
+    }
+
+    @Test
+    public void getRandomValues_withBlacklistCoveringAllButOneValue_shouldOnlyGenerateRemainingValue() {
+        givenLowerBound(createDate(2018, 1, 1), true);
+        givenUpperBound(createDate(2018, 12, 31), true);
+        LinearRestrictions<OffsetDateTime> restrictions = LinearRestrictionsFactory.createDateTimeRestrictions(lowerLimit, upperLimit, Timescale.DAYS);
+
+        Set<Object> blacklist = new HashSet<>();
+        for (OffsetDateTime date = createDate(2018, 1, 1); !date.isAfter(createDate(2018, 12, 31)); date = date.plusDays(1)) {
+            blacklist.add(date);
+        }
+        blacklist.remove(createDate(2018, 7, 4));
+
+        fieldSource = new DateTimeFieldValueSource(restrictions, blacklist);
+
+        Set<OffsetDateTime> values = fieldSource.generateRandomValues(new JavaUtilRandomNumberGenerator(0))
+            .limit(100)
+            .collect(Collectors.toSet());
+
+        Assert.assertThat(values, equalTo(Collections.singleton(createDate(2018, 7, 4))));
+    }
+
+    @Test
+    public void getRandomValues_withBlacklistCoveringAllValues_shouldGenerateNoValues() {
+        givenLowerBound(createDate(2018, 1, 1), true);
+        givenUpperBound(createDate(2018, 3, 1), true);
+        LinearRestrictions<OffsetDateTime> restrictions = LinearRestrictionsFactory.createDateTimeRestrictions(lowerLimit, upperLimit, Timescale.MONTHS);
+
+        fieldSource = new DateTimeFieldValueSource(
+            restrictions,
+            new HashSet<>(Arrays.asList(createDate(2018, 1, 1), createDate(2018, 2, 1), createDate(2018, 3, 1))));
+
+        Assert.assertThat(fieldSource.generateRandomValues(new JavaUtilRandomNumberGenerator(0)).count(), equalTo(0L));
     }
 
     @Test
@@ -419,6 +456,12 @@ public class DateTimeFieldValueSourceTests {
             return 0;
         }
 
+        @Override
+        public long nextLong(long lowerInclusive, long upperExclusive) {
+            long value = (long) (nextDoubleValue * (upperExclusive - lowerInclusive)) + lowerInclusive;
+            return Math.min(value, upperExclusive - 1);
+        }
+
         @Override
         public double nextDouble(double lower, double upper) {
             return nextDoubleValue * (upper - lower) + lower;
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.fieldvaluesources.datetime;
+
+import com.scottlogic.deg.common.profile.constraintdetail.Timescale;
+import org.junit.Assert;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static com.scottlogic.deg.common.util.Defaults.ISO_MAX_DATE;
+import static com.scottlogic.deg.common.util.Defaults.ISO_MIN_DATE;
+import static org.hamcrest.Matchers.equalTo;
+
+class DateTimeIndexTests {
+    private static final OffsetDateTime BEFORE_EPOCH = OffsetDateTime.of(1066, 10, 14, 9, 30, 15, 123_456_789, ZoneOffset.UTC);
+    private static final OffsetDateTime AFTER_EPOCH = OffsetDateTime.of(2019, 2, 28, 23, 59, 59, 999_999_999, ZoneOffset.UTC);
+
+    @ParameterizedTest
+    @EnumSource(Timescale.class)
+    void floorIndex_matchesTrimToGranularity(Timescale granularity) {
+        DateTimeIndex index = new DateTimeIndex(granularity);
+
+        Assert.assertThat(index.toDateTime(index.floorIndex(BEFORE_EPOCH)), equalTo(granularity.trimToGranularity(BEFORE_EPOCH)));
+        Assert.assertThat(index.toDateTime(index.floorIndex(AFTER_EPOCH)), equalTo(granularity.trimToGranularity(AFTER_EPOCH)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Timescale.class)
+    void consecutiveIndexes_matchGetNext(Timescale granularity) {
+        DateTimeIndex index = new DateTimeIndex(granularity);
+        long first = index.floorIndex(AFTER_EPOCH);
+
+        Assert.assertThat(index.toDateTime(first + 1), equalTo(granularity.getNext(index.toDateTime(first))));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Timescale.class)
+    void ceilingIndex_roundsUpUnlessAlreadyAtGranularity(Timescale granularity) {
+        DateTimeIndex index = new DateTimeIndex(granularity);
+        OffsetDateTime aligned = granularity.trimToGranularity(AFTER_EPOCH);
+
+        Assert.assertThat(index.ceilingIndex(aligned), equalTo(index.floorIndex(aligned)));
+        Assert.assertThat(index.ceilingIndex(aligned.plusNanos(1)), equalTo(index.floorIndex(aligned) + 1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Timescale.class)
+    void roundTripsIsoLimits(Timescale granularity) {
+        DateTimeIndex index = new DateTimeIndex(granularity);
+
+        Assert.assertThat(index.toDateTime(index.floorIndex(ISO_MIN_DATE)), equalTo(ISO_MIN_DATE));
+        Assert.assertThat(index.toDateTime(index.floorIndex(ISO_MAX_DATE)), equalTo(granularity.trimToGranularity(ISO_MAX_DATE)));
+    }
+}
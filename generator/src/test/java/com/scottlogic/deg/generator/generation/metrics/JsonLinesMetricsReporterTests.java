@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class JsonLinesMetricsReporterTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void generationFinished_writesSummaryAsLastLine() throws IOException {
+        Path file = directory.resolve("metrics.jsonl");
+        GenerationMetrics metrics = new GenerationMetrics();
+        JsonLinesMetricsReporter reporter = new JsonLinesMetricsReporter(file, metrics);
+
+        reporter.generationStarting();
+        for (int i = 0; i < 10; i++) {
+            metrics.rowEmitted();
+            metrics.stage(GenerationStage.COMPILING).run(() -> { });
+        }
+        metrics.pruningContradiction();
+        metrics.addBytesWrittenCounter(() -> 123);
+        reporter.generationFinished();
+
+        List<String> lines = Files.readAllLines(file);
+        JsonNode summary = new ObjectMapper().readTree(lines.get(lines.size() - 1));
+        assertThat(summary.get("type").asText(), equalTo("summary"));
+        assertThat(summary.get("rows").asLong(), equalTo(10L));
+        assertThat(summary.get("pruningContradictions").asLong(), equalTo(1L));
+        assertThat(summary.get("bytesWritten").asLong(), equalTo(123L));
+        assertThat(summary.get("stages").get("COMPILING").get("calls").asLong(), equalTo(10L));
+        assertThat(summary.get("stages").get("COMPILING").get("latencyHistogram").size(), greaterThan(0));
+    }
+
+    @Test
+    public void generationFinished_withoutStarting_writesNothing() {
+        Path file = directory.resolve("metrics.jsonl");
+
+        new JsonLinesMetricsReporter(file, new GenerationMetrics()).generationFinished();
+
+        assertThat(Files.exists(file), is(false));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.generation.profilecache;
+
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.Profile;
+import com.scottlogic.deg.common.profile.Rule;
+import com.scottlogic.deg.common.profile.RuleInformation;
+import com.scottlogic.deg.common.profile.constraints.atomic.IsInSetConstraint;
+import com.scottlogic.deg.common.profile.constraints.atomic.IsLessThanConstantConstraint;
+import com.scottlogic.deg.common.profile.constraints.grammatical.OrConstraint;
+import com.scottlogic.deg.generator.decisiontree.DecisionTree;
+import com.scottlogic.deg.generator.decisiontree.DecisionTreeFactory;
+import com.scottlogic.deg.generator.fieldspecs.whitelist.DistributedList;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.scottlogic.deg.common.profile.FieldBuilder.createField;
+import static org.hamcrest.Matchers.*;
+
+public class FileCompiledProfileCacheTests {
+    @TempDir
+    Path directory;
+
+    private final Field field = createField("foo");
+    private final AtomicInteger compilations = new AtomicInteger();
+    private final List<String> warnings = new ArrayList<>();
+
+    @Test
+    public void get_withProfileCompiledByEarlierRun_returnsEqualTreesWithoutCompiling() {
+        Profile profile = profileWithValues("a", "b");
+        CompiledProfile compiled = new FileCompiledProfileCache(directory, "1.0", warnings::add).get(profile, compile(profile));
+
+        CompiledProfile cached = new FileCompiledProfileCache(directory, "1.0", warnings::add).get(profileWithValues("a", "b"), compile(profile));
+
+        Assert.assertThat(compilations.get(), equalTo(1));
+        Assert.assertThat(cached, not(sameInstance(compiled)));
+        Assert.assertThat(cached.getPartitions().get(0).getRootNode(), equalTo(compiled.getPartitions().get(0).getRootNode()));
+        Assert.assertThat(cached.getPartitions().get(0).getFields(), equalTo(compiled.getPartitions().get(0).getFields()));
+        Assert.assertThat(cached.getMessages(), equalTo(compiled.getMessages()));
+    }
+
+    @Test
+    public void get_withDifferentSetValues_compilesAgain() {
+        FileCompiledProfileCache cache = new FileCompiledProfileCache(directory, "1.0", warnings::add);
+        Profile profile = profileWithValues("a", "b");
+        Profile changedProfile = profileWithValues("a", "c");
+
+        cache.get(profile, compile(profile));
+        cache.get(changedProfile, compile(changedProfile));
+
+        Assert.assertThat(compilations.get(), equalTo(2));
+    }
+
+    @Test
+    public void get_withDifferentGeneratorVersion_compilesAgain() {
+        Profile profile = profileWithValues("a", "b");
+
+        new FileCompiledProfileCache(directory, "1.0", warnings::add).get(profile, compile(profile));
+        new FileCompiledProfileCache(directory, "1.1", warnings::add).get(profile, compile(profile));
+
+        Assert.assertThat(compilations.get(), equalTo(2));
+    }
+
+    @Test
+    public void get_withUnreadableEntry_compilesAgainAndReplacesIt() throws IOException {
+        FileCompiledProfileCache cache = new FileCompiledProfileCache(directory, "1.0", warnings::add);
+        Profile profile = profileWithValues("a", "b");
+        Path entry = directory.resolve(cache.getKey(profile) + ".tree");
+        Files.write(entry, new byte[]{ 1, 2, 3 });
+
+        cache.get(profile, compile(profile));
+        cache.get(profile, compile(profile));
+
+        Assert.assertThat(compilations.get(), equalTo(1));
+        Assert.assertThat(Files.size(entry), greaterThan(3L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void get_withEntryHoldingClassOutsideCompiledProfile_compilesAgainAndReplacesIt() throws IOException {
+        FileCompiledProfileCache cache = new FileCompiledProfileCache(directory, "1.0", warnings::add);
+        Profile profile = profileWithValues("a", "b");
+        Path entry = directory.resolve(cache.getKey(profile) + ".tree");
+        try (ObjectOutputStream output = new ObjectOutputStream(Files.newOutputStream(entry))) {
+            output.writeObject(new CompiledProfile(Collections.emptyList(), (List) Collections.singletonList(new File("planted"))));
+        }
+
+        CompiledProfile compiled = cache.get(profile, compile(profile));
+
+        Assert.assertThat(compilations.get(), equalTo(1));
+        Assert.assertThat(compiled.getMessages(), contains("compiled"));
+        Assert.assertThat(cache.get(profile, compile(profile)).getMessages(), contains("compiled"));
+    }
+
+    @Test
+    public void get_withUnwritableDirectory_warnsAndReturnsCompiledProfile() throws IOException {
+        Path notADirectory = directory.resolve("cache");
+        Files.write(notADirectory, new byte[0]);
+        Profile profile = profileWithValues("a", "b");
+
+        CompiledProfile compiled = new FileCompiledProfileCache(notADirectory, "1.0", warnings::add)
+            .get(profile, compile(profile));
+
+        Assert.assertThat(compiled.getMessages(), contains("compiled"));
+        Assert.assertThat(warnings, hasSize(1));
+    }
+
+    private Profile profileWithValues(Object... values) {
+        return new Profile(
+            Collections.singletonList(field),
+            Collections.singletonList(new Rule(
+                new RuleInformation(),
+                Collections.singletonList(new OrConstraint(
+                    new IsInSetConstraint(field, DistributedList.uniform(Arrays.asList(values))),
+                    new IsLessThanConstantConstraint(field, BigDecimal.TEN))))));
+    }
+
+    private Supplier<CompiledProfile> compile(Profile profile) {
+        return () -> {
+            compilations.incrementAndGet();
+            DecisionTree tree = new DecisionTreeFactory().analyse(profile);
+            return new CompiledProfile(Collections.singletonList(tree), Collections.singletonList("compiled"));
+        };
+    }
+}
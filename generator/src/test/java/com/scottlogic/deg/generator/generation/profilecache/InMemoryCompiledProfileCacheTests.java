@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.generator.generation.profilecache;
+
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.Profile;
+import com.scottlogic.deg.common.profile.Rule;
+import com.scottlogic.deg.common.profile.RuleInformation;
+import com.scottlogic.deg.common.profile.constraints.atomic.IsInSetConstraint;
+import com.scottlogic.deg.generator.decisiontree.DecisionTreeFactory;
+import com.scottlogic.deg.generator.fieldspecs.whitelist.DistributedList;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.scottlogic.deg.common.profile.FieldBuilder.createField;
+import static org.hamcrest.Matchers.*;
+
+public class InMemoryCompiledProfileCacheTests {
+    private final Field field = createField("foo");
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    @Test
+    public void get_withEqualProfileReadAgain_returnsSameCompiledProfile() {
+        InMemoryCompiledProfileCache cache = new InMemoryCompiledProfileCache(2, new NoCompiledProfileCache());
+
+        CompiledProfile compiled = cache.get(profileWithValues("a", "b"), compile(profileWithValues("a", "b")));
+        CompiledProfile cached = cache.get(profileWithValues("a", "b"), compile(profileWithValues("a", "b")));
+
+        Assert.assertThat(compilations.get(), equalTo(1));
+        Assert.assertThat(cached, sameInstance(compiled));
+    }
+
+    @Test
+    public void get_withMoreProfilesThanMaxEntries_compilesLeastRecentlyUsedAgain() {
+        InMemoryCompiledProfileCache cache = new InMemoryCompiledProfileCache(2, new NoCompiledProfileCache());
+        Profile first = profileWithValues("a");
+        Profile second = profileWithValues("b");
+        Profile third = profileWithValues("c");
+
+        cache.get(first, compile(first));
+        cache.get(second, compile(second));
+        cache.get(first, compile(first));
+        cache.get(third, compile(third));
+        cache.get(first, compile(first));
+        cache.get(second, compile(second));
+
+        Assert.assertThat(compilations.get(), equalTo(4));
+    }
+
+    private Profile profileWithValues(Object... values) {
+        return new Profile(
+            Collections.singletonList(field),
+            Collections.singletonList(new Rule(
+                new RuleInformation(),
+                Collections.singletonList(
+                    new IsInSetConstraint(field, DistributedList.uniform(Arrays.asList(values)))))));
+    }
+
+    private Supplier<CompiledProfile> compile(Profile profile) {
+        return () -> {
+            compilations.incrementAndGet();
+            return new CompiledProfile(
+                Collections.singletonList(new DecisionTreeFactory().analyse(profile)),
+                Collections.emptyList());
+        };
+    }
+}
@@ -372,6 +372,54 @@ public class IndividualConstraintRuleViolatorTests {
         assertRuleTypeEquality(expectedRule, outputRule);
     }
 
+    /**
+     * Tests that the violate method splits longer lists of constraints in half rather than repeating every constraint
+     * in every option.
+     * VIOLATE(RULE(W,X,Y,Z)) reduces to OR(AND(VIOLATE(W,X),Y,Z), AND(W,X,VIOLATE(Y,Z)))
+     */
+    @Test
+    public void violateRule_withFourAtomicConstraints_violatesEachHalfWhileTheOtherHolds() {
+        //Arrange
+        AtomicConstraint atomicConstraint4 = new IsLessThanConstantConstraint(createField("barfoo"), BigDecimal.valueOf(40));
+        inputConstraints.add(atomicConstraint1);
+        inputConstraints.add(atomicConstraint2);
+        inputConstraints.add(atomicConstraint3);
+        inputConstraints.add(atomicConstraint4);
+
+        Rule inputRule = new Rule(ruleInformation, inputConstraints);
+
+        //Act
+        Rule outputRule = target.violateRule(inputRule);
+
+        //Assert
+        Rule expectedRule = new Rule(
+            ruleInformation,
+            Arrays.asList(
+                new OrConstraint(
+                    new AndConstraint(
+                        new OrConstraint(
+                            new AndConstraint(new ViolatedAtomicConstraint(atomicConstraint1.negate()), atomicConstraint2),
+                            new AndConstraint(atomicConstraint1, new ViolatedAtomicConstraint(atomicConstraint2.negate()))
+                        ),
+                        atomicConstraint3,
+                        atomicConstraint4
+                    ),
+                    new AndConstraint(
+                        atomicConstraint1,
+                        atomicConstraint2,
+                        new OrConstraint(
+                            new AndConstraint(new ViolatedAtomicConstraint(atomicConstraint3.negate()), atomicConstraint4),
+                            new AndConstraint(atomicConstraint3, new ViolatedAtomicConstraint(atomicConstraint4.negate()))
+                        )
+                    )
+                )
+            )
+        );
+
+        assertThat("The violate method should have returned the correct shaped rule", outputRule, sameBeanAs(expectedRule));
+        assertRuleTypeEquality(expectedRule, outputRule);
+    }
+
     /**
      * Tests that the violate method with unsupported constraint type throws UnviolatableConstraintException exception.
      */
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.generator.utils;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.*;
+
+class SplittableRandomNumberGeneratorTests {
+    @Test
+    void sameSeed_producesSameSequence() {
+        Assert.assertThat(firstValues(new SplittableRandomNumberGenerator(42)), equalTo(firstValues(new SplittableRandomNumberGenerator(42))));
+    }
+
+    @Test
+    void differentSeeds_produceDifferentSequences() {
+        Assert.assertThat(firstValues(new SplittableRandomNumberGenerator(42)), not(equalTo(firstValues(new SplittableRandomNumberGenerator(43)))));
+    }
+
+    @Test
+    void split_producesIndependentStreamThatIsAlsoRepeatable() {
+        SplittableRandomNumberGenerator parent = new SplittableRandomNumberGenerator(42);
+        SplittableRandomNumberGenerator child = parent.split();
+
+        Assert.assertThat(firstValues(child), not(equalTo(firstValues(parent))));
+        Assert.assertThat(firstValues(new SplittableRandomNumberGenerator(42).split()), equalTo(firstValues(new SplittableRandomNumberGenerator(42).split())));
+    }
+
+    @Test
+    void nextLong_staysWithinBounds() {
+        SplittableRandomNumberGenerator random = new SplittableRandomNumberGenerator(0);
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertThat(random.nextLong(-5, 5), allOf(greaterThanOrEqualTo(-5L), lessThan(5L)));
+        }
+    }
+
+    private static List<Long> firstValues(RandomNumberGenerator random) {
+        return Stream.generate(() -> random.nextLong(0, Long.MAX_VALUE))
+            .limit(10)
+            .collect(Collectors.toList());
+    }
+}
@@ -1,5 +1,6 @@
 package com.scottlogic.deg.generator.walker.decisionbased;
 
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.generator.builders.TestConstraintNodeBuilder;
@@ -35,7 +36,7 @@ class RowSpecTreeSolverTests {
         constraintReducer = new ConstraintReducer(new FieldSpecFactory(new StringRestrictionsFactory()), new FieldSpecMerger());
         pruner = new TreePruner(new FieldSpecMerger(), constraintReducer, new FieldSpecHelper());
         optionPicker = new SequentialOptionPicker();
-        rowSpecTreeSolver = new RowSpecTreeSolver(constraintReducer, pruner, optionPicker);
+        rowSpecTreeSolver = new RowSpecTreeSolver(constraintReducer, pruner, optionPicker, new GenerationMetrics());
     }
 
     @Test
@@ -16,7 +16,9 @@
 
 package com.scottlogic.deg.orchestrator;
 
+import com.scottlogic.deg.orchestrator.batch.GenerateBatchCommandLine;
 import com.scottlogic.deg.orchestrator.generate.GenerateCommandLine;
+import com.scottlogic.deg.orchestrator.serve.ServeCommandLine;
 import com.scottlogic.deg.orchestrator.violate.ViolateCommandLine;
 import com.scottlogic.deg.orchestrator.visualise.VisualiseCommandLine;
 import picocli.CommandLine;
@@ -27,8 +29,10 @@ import java.util.stream.Collectors;
 public class App implements Runnable {
     private static final CommandLine picoCliCommandLine = new CommandLine(new App())
         .addSubcommand("generate", new GenerateCommandLine())
+        .addSubcommand("generate-batch", new GenerateBatchCommandLine())
         .addSubcommand("violate", new ViolateCommandLine())
         .addSubcommand("visualise", new VisualiseCommandLine())
+        .addSubcommand("serve", new ServeCommandLine())
         .setCaseInsensitiveEnumValuesAllowed(true);
 
     public static void main(String[] args) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.batch;
+
+import com.scottlogic.deg.generator.config.detail.CombinationStrategyType;
+import com.scottlogic.deg.generator.config.detail.DataGenerationType;
+import com.scottlogic.deg.generator.config.detail.MonitorType;
+import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
+import com.scottlogic.deg.output.guice.OutputFormat;
+import com.scottlogic.deg.output.outputtarget.OutputCompression;
+import com.scottlogic.deg.output.outputtarget.Sharding;
+import com.scottlogic.deg.output.outputtarget.TeeOutput;
+import com.scottlogic.deg.output.writer.FlushPolicy;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/** The options for generating one profile of a batch: the batch's options, with the entry's profile and output */
+class BatchEntryConfigSource implements AllConfigSource {
+    private final GenerateBatchCommandLine batch;
+    private final BatchEntry entry;
+
+    BatchEntryConfigSource(GenerateBatchCommandLine batch, BatchEntry entry) {
+        this.batch = batch;
+        this.entry = entry;
+    }
+
+    @Override
+    public File getProfileFile() {
+        return entry.getProfileFile();
+    }
+
+    @Override
+    public boolean isSchemaValidationDisabled() {
+        return batch.isSchemaValidationDisabled();
+    }
+
+    @Override
+    public String fromFilePath() {
+        return batch.getFromFilePath();
+    }
+
+    @Override
+    public DataGenerationType getGenerationType() {
+        return batch.getGenerationType();
+    }
+
+    @Override
+    public CombinationStrategyType getCombinationStrategyType() {
+        return batch.getCombinationStrategyType();
+    }
+
+    @Override
+    public long getMaxRows() {
+        return batch.getMaxRows();
+    }
+
+    @Override
+    public long getSeed() {
+        return batch.getSeed();
+    }
+
+    @Override
+    public MonitorType getMonitorType() {
+        // progress from several profiles at once can't be told apart, so only the summary is reported
+        return MonitorType.QUIET;
+    }
+
+    @Override
+    public Path getProfileCacheDirectory() {
+        return batch.getProfileCacheDirectory();
+    }
+
+    @Override
+    public Path getMetricsFile() {
+        return null;
+    }
+
+    @Override
+    public OutputFormat getOutputFormat() {
+        return batch.getOutputFormat();
+    }
+
+    @Override
+    public Path getOutputPath() {
+        return entry.getOutputPath();
+    }
+
+    @Override
+    public boolean overwriteOutputFiles() {
+        return batch.overwriteOutputFiles();
+    }
+
+    @Override
+    public boolean useStdOut() {
+        return false;
+    }
+
+    @Override
+    public boolean useNdJson() {
+        return batch.useNdJson();
+    }
+
+    @Override
+    public int getOutputBufferSize() {
+        return batch.getOutputBufferSize();
+    }
+
+    @Override
+    public FlushPolicy getFlushPolicy() {
+        return FlushPolicy.ON_CLOSE;
+    }
+
+    @Override
+    public boolean useAsyncWriter() {
+        return false;
+    }
+
+    @Override
+    public boolean useMemoryMappedOutput() {
+        return false;
+    }
+
+    @Override
+    public long getPreallocateOutputBytes() {
+        return 0;
+    }
+
+    @Override
+    public OutputCompression getOutputCompression() {
+        return batch.getOutputCompression();
+    }
+
+    @Override
+    public Sharding getSharding() {
+        return Sharding.none();
+    }
+
+    @Override
+    public List<TeeOutput> getTeeOutputs() {
+        return Collections.emptyList();
+    }
+}
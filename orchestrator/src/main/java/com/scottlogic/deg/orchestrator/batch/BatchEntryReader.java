@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scottlogic.deg.common.ValidationException;
+import com.scottlogic.deg.output.guice.OutputFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds the profiles to generate in a batch, either from a JSON manifest or from every {@code .json} file under a
+ * directory. Profiles found in a directory are written to the same relative path under the output directory, with
+ * the extension of the output format.
+ */
+class BatchEntryReader {
+    private final OutputFormat outputFormat;
+
+    BatchEntryReader(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    List<BatchEntry> read(Path profiles, Path outputDirectory) throws IOException {
+        if (Files.isDirectory(profiles)) {
+            if (outputDirectory == null) {
+                throw new ValidationException("--output-directory is required when generating a directory of profiles");
+            }
+            return readDirectory(profiles, outputDirectory);
+        }
+        if (Files.isRegularFile(profiles)) {
+            return readManifest(profiles);
+        }
+        throw new ValidationException("Batch profiles " + profiles + " is neither a directory nor a manifest file");
+    }
+
+    private List<BatchEntry> readDirectory(Path directory, Path outputDirectory) throws IOException {
+        String extension = "." + outputFormat.name().toLowerCase();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files
+                .filter(Files::isRegularFile)
+                .filter(file -> file.getFileName().toString().endsWith(".json"))
+                .sorted()
+                .map(file -> {
+                    String relativePath = directory.relativize(file).toString();
+                    String outputName = relativePath.substring(0, relativePath.length() - ".json".length()) + extension;
+                    return new BatchEntry(file.toFile(), outputDirectory.resolve(outputName));
+                })
+                .collect(Collectors.toList());
+        }
+    }
+
+    private List<BatchEntry> readManifest(Path manifestFile) throws IOException {
+        BatchManifestDTO manifest = new ObjectMapper().readValue(manifestFile.toFile(), BatchManifestDTO.class);
+        if (manifest.profiles == null) {
+            throw new ValidationException("Batch manifest " + manifestFile + " has no 'profiles'");
+        }
+
+        Path root = manifestFile.toAbsolutePath().getParent();
+        List<BatchEntry> entries = new ArrayList<>();
+        for (BatchManifestDTO.EntryDTO entry : manifest.profiles) {
+            if (entry.profile == null || entry.output == null) {
+                throw new ValidationException("Each profile in batch manifest " + manifestFile + " needs a 'profile' and an 'output'");
+            }
+            entries.add(new BatchEntry(
+                new File(root.resolve(entry.profile).toString()),
+                root.resolve(entry.output)));
+        }
+        return entries;
+    }
+}
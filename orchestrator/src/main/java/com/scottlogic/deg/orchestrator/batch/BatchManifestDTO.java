@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * A batch manifest, listing each profile and where to write its data, e.g.
+ * <pre>{@code
+ * { "profiles": [ { "profile": "trades.profile.json", "output": "out/trades.csv" } ] }
+ * }</pre>
+ * Relative paths are resolved against the directory holding the manifest.
+ */
+public class BatchManifestDTO {
+    public List<EntryDTO> profiles;
+
+    public static class EntryDTO {
+        @JsonProperty("profile")
+        public String profile;
+        @JsonProperty("output")
+        public String output;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/** How generating one profile of a batch went */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDTO {
+    public final String profile;
+    public final String output;
+    public final long rows;
+    public final long millis;
+    public final String error;
+
+    public BatchResultDTO(String profile, String output, long rows, long millis, String error) {
+        this.profile = profile;
+        this.output = output;
+        this.rows = rows;
+        this.millis = millis;
+        this.error = error;
+    }
+}
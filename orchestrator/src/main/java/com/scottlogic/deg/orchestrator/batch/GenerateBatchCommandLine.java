@@ -0,0 +1,233 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scottlogic.deg.common.ValidationException;
+import com.scottlogic.deg.generator.config.detail.CombinationStrategyType;
+import com.scottlogic.deg.generator.config.detail.DataGenerationType;
+import com.scottlogic.deg.orchestrator.generate.GenerateCommandLine;
+import com.scottlogic.deg.output.guice.OutputFormat;
+import com.scottlogic.deg.output.outputtarget.OutputCompression;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static com.scottlogic.deg.common.util.Defaults.DEFAULT_MAX_ROWS;
+import static com.scottlogic.deg.generator.config.detail.CombinationStrategyType.MINIMAL;
+import static com.scottlogic.deg.generator.config.detail.DataGenerationType.RANDOM;
+import static com.scottlogic.deg.output.guice.OutputFormat.CSV;
+
+/**
+ * This class holds the generate-batch specific command line options.
+ */
+@CommandLine.Command(
+    name = "generate-batch",
+    description = "Produces data for many profiles in one run, listed in a manifest or found in a directory.",
+    descriptionHeading = "%nDescription:%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n",
+    abbreviateSynopsis = true)
+public class GenerateBatchCommandLine implements Callable<Integer> {
+
+    @Override
+    public Integer call() throws Exception {
+        checkBatchOptions();
+
+        List<BatchEntry> entries = new BatchEntryReader(outputFormat).read(profiles, outputDirectory);
+        List<BatchResultDTO> results = new GenerateBatchExecute(this).execute(entries);
+
+        reportResults(results);
+        return results.stream().anyMatch(result -> result.error != null) ? 1 : 0;
+    }
+
+    private void checkBatchOptions() {
+        if (threads < 1) {
+            throw new ValidationException("--threads must be at least 1");
+        }
+    }
+
+    private void reportResults(List<BatchResultDTO> results) throws IOException {
+        long totalRows = 0;
+        long failures = 0;
+        for (BatchResultDTO result : results) {
+            if (result.error == null) {
+                System.err.println(String.format("%s: %d rows in %d ms", result.profile, result.rows, result.millis));
+            } else {
+                System.err.println(String.format("%s: failed after %d ms: %s", result.profile, result.millis, result.error));
+                failures++;
+            }
+            totalRows += result.rows;
+        }
+        System.err.println(String.format(
+            "Generated %d rows for %d of %d profiles",
+            totalRows,
+            results.size() - failures,
+            results.size()));
+
+        if (summaryFile != null) {
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(summaryFile.toFile(), results);
+        }
+    }
+
+    @CommandLine.Option(
+        names = {"-p", "--profiles"},
+        required = true,
+        description = "A directory of profile json files, or a json manifest listing each profile and its output path.")
+    private Path profiles;
+
+    @CommandLine.Option(
+        names = {"-o", "--output-directory"},
+        description = "The directory to write data to when generating a directory of profiles.")
+    private Path outputDirectory;
+
+    @CommandLine.Option(
+        names = {"--summary-file"},
+        description = "Also writes the rows and time taken for each profile to this json file.")
+    private Path summaryFile;
+
+    @CommandLine.Option(
+        names = {"--threads"},
+        description = "The number of profiles to generate at the same time")
+    private int threads = 1;
+
+    @CommandLine.Option(
+        names = "--help",
+        usageHelp = true,
+        description = "Display these available command line options")
+    boolean help;
+
+    @CommandLine.Option(
+        names = {"--replace"},
+        description = "Defines whether to overwrite/replace existing output files")
+    boolean overwriteOutputFiles = false;
+
+    @CommandLine.Option(
+        names = {"--ndjson"},
+        description = "Defines whether JSON output is in NDJ (newline-delimited JSON) format")
+    private boolean ndjson = false;
+
+    @CommandLine.Option(
+        names = { "--disable-schema-validation" },
+        description = "Disables schema validation")
+    boolean disableSchemaValidation = false;
+
+    @CommandLine.Option(names = {"-t", "--generation-type"},
+        description = "Determines the type of data generation performed (${COMPLETION-CANDIDATES})",
+        hidden = true)
+    private DataGenerationType generationType = RANDOM;
+
+    @CommandLine.Option(names = {"-c", "--combination-strategy"},
+        description = "Determines the type of combination strategy used (${COMPLETION-CANDIDATES})")
+    private CombinationStrategyType combinationType = MINIMAL;
+
+    @CommandLine.Option(
+        names = {"-n", "--max-rows"},
+        description = "Defines the maximum number of rows that should be generated for each profile")
+    private long maxRows = DEFAULT_MAX_ROWS;
+
+    @CommandLine.Option(
+        names = {"--seed"},
+        description = "Seeds the random number generator for every profile, so random generation can be repeated. Defaults to a new seed for each run")
+    private Long seed;
+
+    @CommandLine.Option(
+        names = {"--output-format"},
+        description = "Output format (${COMPLETION-CANDIDATES})")
+    private OutputFormat outputFormat = CSV;
+
+    @CommandLine.Option(
+        names = {"--output-buffer-size"},
+        description = "Size in bytes of the buffer used when writing output")
+    private int outputBufferSize = 64 * 1024;
+
+    @CommandLine.Option(
+        names = {"--compress"},
+        description = "Compresses output using multiple threads (${COMPLETION-CANDIDATES})")
+    private OutputCompression compression = OutputCompression.NONE;
+
+    @CommandLine.Option(
+        names = {"--set-from-file-directory"},
+        description = "Custom root for loading sets from file."
+    )
+    private String fromFilePath = "";
+
+    @CommandLine.Option(
+        names = {"--profile-cache-directory"},
+        description = "Keeps the decision trees built for each profile in this directory, so later runs of the same profile can skip building them"
+    )
+    private Path profileCacheDirectory;
+
+    int getThreads() {
+        return threads;
+    }
+
+    boolean isSchemaValidationDisabled() {
+        return disableSchemaValidation;
+    }
+
+    boolean overwriteOutputFiles() {
+        return overwriteOutputFiles;
+    }
+
+    boolean useNdJson() {
+        return ndjson;
+    }
+
+    DataGenerationType getGenerationType() {
+        return generationType;
+    }
+
+    CombinationStrategyType getCombinationStrategyType() {
+        return combinationType;
+    }
+
+    long getMaxRows() {
+        return maxRows;
+    }
+
+    /** Chooses a seed the first time one is needed if none was given, and reports it so the run can be repeated */
+    synchronized long getSeed() {
+        if (seed == null) {
+            seed = System.nanoTime();
+            GenerateCommandLine.printChosenSeed(seed);
+        }
+        return seed;
+    }
+
+    OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    OutputCompression getOutputCompression() {
+        return compression;
+    }
+
+    String getFromFilePath() {
+        return fromFilePath;
+    }
+
+    Path getProfileCacheDirectory() {
+        return profileCacheDirectory;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.batch;
+
+import com.google.inject.Guice;
+import com.scottlogic.deg.common.ValidationException;
+import com.scottlogic.deg.orchestrator.generate.GenerateExecute;
+import com.scottlogic.deg.orchestrator.guice.AllModule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates each profile of a batch within this JVM, so that the process-wide caches, e.g. of string automata and
+ * name lists, are only filled once. A profile that fails is reported in its result rather than stopping the batch.
+ */
+class GenerateBatchExecute {
+    private final GenerateBatchCommandLine batch;
+
+    GenerateBatchExecute(GenerateBatchCommandLine batch) {
+        this.batch = batch;
+    }
+
+    /** @return a result for each entry, in the same order as the entries */
+    List<BatchResultDTO> execute(List<BatchEntry> entries) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(batch.getThreads(), new BatchThreadFactory());
+        try {
+            List<Future<BatchResultDTO>> futures = new ArrayList<>();
+            for (BatchEntry entry : entries) {
+                futures.add(executor.submit(() -> generate(entry)));
+            }
+
+            List<BatchResultDTO> results = new ArrayList<>();
+            for (Future<BatchResultDTO> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private BatchResultDTO generate(BatchEntry entry) {
+        long start = System.nanoTime();
+        long rows = 0;
+        String error = null;
+        try {
+            // each profile needs its own injector, as the profile and output paths are bound as configuration
+            rows = Guice.createInjector(new AllModule(new BatchEntryConfigSource(batch, entry)))
+                .getInstance(GenerateExecute.class)
+                .execute();
+        } catch (ValidationException e) {
+            error = String.join("; ", e.errorMessages);
+        } catch (Exception e) {
+            error = e.toString();
+        }
+
+        return new BatchResultDTO(
+            entry.getProfileFile().toString(),
+            entry.getOutputPath().toString(),
+            rows,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            error);
+    }
+
+    private static class BatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "datahelix-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
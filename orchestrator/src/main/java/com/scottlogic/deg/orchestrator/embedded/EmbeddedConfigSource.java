@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.embedded;
+
+import com.scottlogic.deg.generator.config.detail.CombinationStrategyType;
+import com.scottlogic.deg.generator.config.detail.DataGenerationType;
+import com.scottlogic.deg.generator.config.detail.MonitorType;
+import com.scottlogic.deg.generator.generation.GenerationConfigSource;
+import com.scottlogic.deg.profile.guice.ProfileConfigSource;
+
+import java.io.File;
+import java.nio.file.Path;
+
+class EmbeddedConfigSource implements GenerationConfigSource, ProfileConfigSource {
+    private final File profileFile;
+    private final String fromFilePath;
+    private final DataGenerationType generationType;
+    private final CombinationStrategyType combinationType;
+    private final long maxRows;
+    private final long seed;
+
+    EmbeddedConfigSource(
+        File profileFile,
+        String fromFilePath,
+        DataGenerationType generationType,
+        CombinationStrategyType combinationType,
+        long maxRows,
+        long seed) {
+        this.profileFile = profileFile;
+        this.fromFilePath = fromFilePath;
+        this.generationType = generationType;
+        this.combinationType = combinationType;
+        this.maxRows = maxRows;
+        this.seed = seed;
+    }
+
+    @Override
+    public File getProfileFile() {
+        return profileFile;
+    }
+
+    @Override
+    public boolean isSchemaValidationDisabled() {
+        return false;
+    }
+
+    @Override
+    public String fromFilePath() {
+        return fromFilePath;
+    }
+
+    @Override
+    public DataGenerationType getGenerationType() {
+        return generationType;
+    }
+
+    @Override
+    public CombinationStrategyType getCombinationStrategyType() {
+        return combinationType;
+    }
+
+    @Override
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public MonitorType getMonitorType() {
+        return MonitorType.QUIET;
+    }
+
+    @Override
+    public Path getProfileCacheDirectory() {
+        return null;
+    }
+
+    @Override
+    public Path getMetricsFile() {
+        return null;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.embedded;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Profile;
+import com.scottlogic.deg.generator.config.detail.CombinationStrategyType;
+import com.scottlogic.deg.generator.config.detail.DataGenerationType;
+import com.scottlogic.deg.generator.generation.DataGenerator;
+import com.scottlogic.deg.generator.generation.profilecache.CompiledProfileCache;
+import com.scottlogic.deg.generator.generation.profilecache.InMemoryCompiledProfileCache;
+import com.scottlogic.deg.generator.generation.profilecache.NoCompiledProfileCache;
+import com.scottlogic.deg.generator.guice.GeneratorModule;
+import com.scottlogic.deg.generator.inputs.validation.ProfileValidator;
+import com.scottlogic.deg.profile.guice.ProfileModule;
+import com.scottlogic.deg.profile.reader.ValidatingProfileReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static com.scottlogic.deg.common.util.Defaults.DEFAULT_MAX_ROWS;
+
+/**
+ * Generates data within the calling process, handing back the rows as objects rather than writing them out, e.g.
+ * <pre>{@code
+ * try (GeneratedRows rows = EmbeddedGenerator.fromJson(profileJson).withMaxRows(100).withSeed(7).generate()) {
+ *     rows.forEachRemaining(row -> ...);
+ * }
+ * }</pre>
+ *
+ * Each {@code with} method returns a new generator. Generators made from one another share the trees compiled for
+ * their profile, so generating again from the same profile doesn't compile it again.
+ */
+public class EmbeddedGenerator {
+    private static final int PROFILE_CACHE_SIZE = 16;
+
+    private final Profile profile;
+    private final String profileJson;
+    private final File profileFile;
+    private final CompiledProfileCache profileCache;
+    private final String fromFilePath;
+    private final DataGenerationType generationType;
+    private final CombinationStrategyType combinationType;
+    private final long maxRows;
+    private final Long seed;
+
+    private EmbeddedGenerator(
+        Profile profile,
+        String profileJson,
+        File profileFile,
+        CompiledProfileCache profileCache,
+        String fromFilePath,
+        DataGenerationType generationType,
+        CombinationStrategyType combinationType,
+        long maxRows,
+        Long seed) {
+        this.profile = profile;
+        this.profileJson = profileJson;
+        this.profileFile = profileFile;
+        this.profileCache = profileCache;
+        this.fromFilePath = fromFilePath;
+        this.generationType = generationType;
+        this.combinationType = combinationType;
+        this.maxRows = maxRows;
+        this.seed = seed;
+    }
+
+    public static EmbeddedGenerator fromProfile(Profile profile) {
+        return create(profile, null, null);
+    }
+
+    /** The profile is read, and checked against the profile schema, each time data is generated */
+    public static EmbeddedGenerator fromJson(String profileJson) {
+        return create(null, profileJson, null);
+    }
+
+    /** The profile is read, and checked against the profile schema, each time data is generated */
+    public static EmbeddedGenerator fromFile(File profileFile) {
+        return create(null, null, profileFile);
+    }
+
+    private static EmbeddedGenerator create(Profile profile, String profileJson, File profileFile) {
+        return new EmbeddedGenerator(
+            profile,
+            profileJson,
+            profileFile,
+            new InMemoryCompiledProfileCache(PROFILE_CACHE_SIZE, new NoCompiledProfileCache()),
+            "",
+            DataGenerationType.RANDOM,
+            CombinationStrategyType.MINIMAL,
+            DEFAULT_MAX_ROWS,
+            null);
+    }
+
+    public EmbeddedGenerator withMaxRows(long maxRows) {
+        return new EmbeddedGenerator(profile, profileJson, profileFile, profileCache, fromFilePath, generationType, combinationType, maxRows, seed);
+    }
+
+    /** Without a seed, each call to generate produces different random data */
+    public EmbeddedGenerator withSeed(long seed) {
+        return new EmbeddedGenerator(profile, profileJson, profileFile, profileCache, fromFilePath, generationType, combinationType, maxRows, seed);
+    }
+
+    public EmbeddedGenerator withGenerationType(DataGenerationType generationType) {
+        return new EmbeddedGenerator(profile, profileJson, profileFile, profileCache, fromFilePath, generationType, combinationType, maxRows, seed);
+    }
+
+    public EmbeddedGenerator withCombinationStrategy(CombinationStrategyType combinationType) {
+        return new EmbeddedGenerator(profile, profileJson, profileFile, profileCache, fromFilePath, generationType, combinationType, maxRows, seed);
+    }
+
+    public EmbeddedGenerator withSetFromFileDirectory(String fromFilePath) {
+        return new EmbeddedGenerator(profile, profileJson, profileFile, profileCache, fromFilePath, generationType, combinationType, maxRows, seed);
+    }
+
+    public GeneratedRows generate() throws IOException {
+        Profile profileToGenerate = readProfile();
+
+        EmbeddedConfigSource configSource = getConfigSource(null);
+        Injector injector = Guice.createInjector(
+            Modules.override(new GeneratorModule(configSource))
+                .with(binder -> binder.bind(CompiledProfileCache.class).toInstance(profileCache)));
+
+        injector.getInstance(ProfileValidator.class).validate(profileToGenerate);
+        Stream<GeneratedObject> generatedObjects = injector.getInstance(DataGenerator.class)
+            .generateData(profileToGenerate);
+
+        return new GeneratedRows(
+            profileToGenerate.getFields(),
+            generatedObjects,
+            injector.getInstance(GenerationMetrics.class));
+    }
+
+    private Profile readProfile() throws IOException {
+        if (profile != null) {
+            return profile;
+        }
+        if (profileFile != null) {
+            return readProfile(profileFile);
+        }
+
+        // the profile reader validates against the schema from a file, so the profile is written out to be read back
+        Path temporaryFile = Files.createTempFile("datahelix-profile-", ".json");
+        try {
+            Files.write(temporaryFile, profileJson.getBytes(StandardCharsets.UTF_8));
+            return readProfile(temporaryFile.toFile());
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private Profile readProfile(File file) throws IOException {
+        return Guice.createInjector(new ProfileModule(getConfigSource(file)))
+            .getInstance(ValidatingProfileReader.class)
+            .read();
+    }
+
+    private EmbeddedConfigSource getConfigSource(File file) {
+        return new EmbeddedConfigSource(
+            file,
+            fromFilePath,
+            generationType,
+            combinationType,
+            maxRows,
+            seed == null ? System.nanoTime() : seed);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.embedded;
+
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+
+/**
+ * One generated row, with its values in the same order as the profile's fields. Values are as they would be written
+ * out, i.e. with any field formatting applied, but without being turned into text.
+ */
+public class GeneratedRow {
+    private final ProfileFields fields;
+    private final Object[] values;
+
+    GeneratedRow(ProfileFields fields, Object[] values) {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public Field getField(int index) {
+        return fields.asList().get(index);
+    }
+
+    public int indexOf(String fieldName) {
+        for (int index = 0; index < values.length; index++) {
+            if (getField(index).name.equals(fieldName)) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("Profile fields do not contain " + fieldName);
+    }
+
+    public boolean isNull(int index) {
+        return values[index] == null;
+    }
+
+    public Object get(int index) {
+        return values[index];
+    }
+
+    public String getString(int index) {
+        return getAs(index, String.class);
+    }
+
+    public BigDecimal getBigDecimal(int index) {
+        Number value = getAs(index, Number.class);
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(value.doubleValue());
+        }
+        return BigDecimal.valueOf(value.longValue());
+    }
+
+    public long getLong(int index) {
+        Number value = getAs(index, Number.class);
+        if (value == null) {
+            throw new IllegalStateException("Field " + getField(index).name + " is null in this row");
+        }
+        return value.longValue();
+    }
+
+    public OffsetDateTime getDateTime(int index) {
+        return getAs(index, OffsetDateTime.class);
+    }
+
+    private <T> T getAs(int index, Class<T> type) {
+        Object value = values[index];
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        throw new IllegalStateException(String.format(
+            "Field %s holds a %s, not a %s",
+            getField(index).name,
+            value.getClass().getSimpleName(),
+            type.getSimpleName()));
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.embedded;
+
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The rows of one generation run, produced lazily as they are iterated. Close it to stop generating early and release
+ * anything held by the run.
+ */
+public class GeneratedRows implements Iterator<GeneratedRow>, AutoCloseable {
+    private final ProfileFields fields;
+    private final Stream<GeneratedObject> objects;
+    private final Iterator<GeneratedObject> iterator;
+    private final GenerationMetrics metrics;
+
+    GeneratedRows(ProfileFields fields, Stream<GeneratedObject> objects, GenerationMetrics metrics) {
+        this.fields = fields;
+        this.objects = objects;
+        this.iterator = objects.iterator();
+        this.metrics = metrics;
+    }
+
+    public ProfileFields getFields() {
+        return fields;
+    }
+
+    /** The counts and stage timings of this run so far */
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    @Override
+    public GeneratedRow next() {
+        GeneratedObject object = iterator.next();
+
+        Object[] values = new Object[fields.size()];
+        int index = 0;
+        for (Field field : fields) {
+            values[index++] = object.getFormattedValue(field);
+        }
+        return new GeneratedRow(fields, values);
+    }
+
+    public Spliterator<GeneratedRow> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /** The remaining rows as a stream, which closes these rows when it is closed */
+    public Stream<GeneratedRow> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        objects.close();
+    }
+}
@@ -19,17 +19,26 @@ package com.scottlogic.deg.orchestrator.generate;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Module;
+import com.scottlogic.deg.common.ValidationException;
 import com.scottlogic.deg.generator.config.detail.CombinationStrategyType;
 import com.scottlogic.deg.generator.config.detail.DataGenerationType;
 import com.scottlogic.deg.generator.config.detail.MonitorType;
 import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
 import com.scottlogic.deg.orchestrator.guice.AllModule;
 import com.scottlogic.deg.output.guice.OutputFormat;
+import com.scottlogic.deg.output.outputtarget.OutputCompression;
+import com.scottlogic.deg.output.outputtarget.Sharding;
+import com.scottlogic.deg.output.outputtarget.TeeOutput;
+import com.scottlogic.deg.output.writer.FlushPolicy;
 import picocli.CommandLine;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 import static com.scottlogic.deg.common.util.Defaults.DEFAULT_MAX_ROWS;
 import static com.scottlogic.deg.generator.config.detail.CombinationStrategyType.MINIMAL;
@@ -51,6 +60,9 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
     @Override
     public Integer call() throws Exception {
         checkForAlphaGenerationDataTypes();
+        checkShardingOptions();
+        checkMemoryMappedOutput();
+        chooseSeed();
         Module container = new AllModule(this);
         Injector injector = Guice.createInjector(container);
 
@@ -64,6 +76,22 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         }
     }
 
+    private void checkShardingOptions() {
+        if (shardCount < 0 || rowsPerShard < 0) {
+            throw new ValidationException("--shards and --shard-rows must not be negative");
+        }
+        if (shardCount > 0 && rowsPerShard > 0) {
+            throw new ValidationException("Only one of --shards and --shard-rows can be used");
+        }
+    }
+
+    protected void checkMemoryMappedOutput() {
+        // Windows can't truncate a file that is still mapped, which the mapped output relies on when it closes
+        if (memoryMapOutput && System.getProperty("os.name").startsWith("Windows")) {
+            throw new ValidationException("--memory-map-output isn't supported on Windows");
+        }
+    }
+
     @CommandLine.Option(
         names = {"-p", "--profile-file"},
         required = true,
@@ -110,6 +138,11 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         description = "Defines the maximum number of rows that should be generated")
     private long maxRows = DEFAULT_MAX_ROWS;
 
+    @CommandLine.Option(
+        names = {"--seed"},
+        description = "Seeds the random number generator, so random generation can be repeated. Defaults to a new seed for each run")
+    private Long seed;
+
     @CommandLine.Option(
         names = {"--quiet"},
         description = "Turns OFF default monitoring")
@@ -131,12 +164,80 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         description = "Output format (${COMPLETION-CANDIDATES})")
     private OutputFormat outputFormat = CSV;
 
+    @CommandLine.Option(
+        names = {"--output-buffer-size"},
+        description = "Size in bytes of the buffer used when writing output")
+    private int outputBufferSize = 64 * 1024;
+
+    @CommandLine.Option(
+        names = {"--flush-rows"},
+        description = "Flush output after this many rows have been written, 0 to disable")
+    private long flushRows = 0;
+
+    @CommandLine.Option(
+        names = {"--flush-bytes"},
+        description = "Flush output after roughly this many bytes have been written, 0 to disable")
+    private long flushBytes = 0;
+
+    @CommandLine.Option(
+        names = {"--flush-interval"},
+        description = "Flush output when this many milliseconds have passed since the last flush, 0 to disable")
+    private long flushMillis = 1000;
+
+    @CommandLine.Option(
+        names = {"--compress"},
+        description = "Compresses output using multiple threads (${COMPLETION-CANDIDATES})")
+    private OutputCompression compression = OutputCompression.NONE;
+
+    @CommandLine.Option(
+        names = {"--memory-map-output"},
+        description = "Writes output files through memory-mapped regions rather than buffered channel writes")
+    private boolean memoryMapOutput = false;
+
+    @CommandLine.Option(
+        names = {"--preallocate-output"},
+        description = "Reserves this many bytes for each output file before writing, trimming any excess when finished")
+    private long preallocateOutputBytes = 0;
+
+    @CommandLine.Option(
+        names = {"--async-writer"},
+        description = "Writes output on a separate thread, so generation doesn't wait for slow output")
+    private boolean asyncWriter = false;
+
+    @CommandLine.Option(
+        names = {"--shards"},
+        description = "Splits output across this many files in the output directory, written in parallel")
+    private int shardCount = 0;
+
+    @CommandLine.Option(
+        names = {"--shard-rows"},
+        description = "Splits output into files of at most this many rows in the output directory")
+    private long rowsPerShard = 0;
+
+    @CommandLine.Option(
+        names = {"--tee-output"},
+        paramLabel = "FORMAT=PATH",
+        description = "Also writes the generated data to this file in this format (CSV or JSON); can be repeated")
+    private Map<OutputFormat, Path> teeOutputs = new LinkedHashMap<>();
+
     @CommandLine.Option(
         names = {"--set-from-file-directory"},
         description = "Custom root for loading sets from file."
     )
     private String fromFilePath = "";
 
+    @CommandLine.Option(
+        names = {"--profile-cache-directory"},
+        description = "Keeps the decision trees built for each profile in this directory, so later runs of the same profile can skip building them"
+    )
+    private Path profileCacheDirectory;
+
+    @CommandLine.Option(
+        names = {"--metrics-file"},
+        description = "Writes generation performance metrics to this file as JSON lines: a sample every second, then a summary when generation finishes"
+    )
+    private Path metricsFile;
+
     @Override
     public File getProfileFile() {
         return this.profileFile;
@@ -193,15 +294,90 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         return maxRows;
     }
 
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
     public OutputFormat getOutputFormat() {
         return outputFormat;
     }
 
+    @Override
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    @Override
+    public FlushPolicy getFlushPolicy() {
+        return new FlushPolicy(flushRows, flushBytes, flushMillis);
+    }
+
+    @Override
+    public boolean useAsyncWriter() {
+        return asyncWriter;
+    }
+
+    @Override
+    public boolean useMemoryMappedOutput() {
+        return memoryMapOutput;
+    }
+
+    @Override
+    public long getPreallocateOutputBytes() {
+        return preallocateOutputBytes;
+    }
+
+    @Override
+    public OutputCompression getOutputCompression() {
+        return compression;
+    }
+
+    @Override
+    public Sharding getSharding() {
+        if (shardCount > 0) {
+            return Sharding.intoShards(shardCount);
+        }
+        if (rowsPerShard > 0) {
+            return Sharding.rowsPerShard(rowsPerShard);
+        }
+        return Sharding.none();
+    }
+
+    @Override
+    public List<TeeOutput> getTeeOutputs() {
+        return teeOutputs.entrySet().stream()
+            .map(entry -> new TeeOutput(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public Path getProfileCacheDirectory() {
+        return profileCacheDirectory;
+    }
+
+    @Override
+    public Path getMetricsFile() {
+        return metricsFile;
+    }
+
     @Override
     public String fromFilePath() {
         return fromFilePath;
     }
 
+    /** Chooses a seed when none was given, and reports it so the run can be repeated */
+    protected void chooseSeed() {
+        if (seed == null) {
+            seed = System.nanoTime();
+            printChosenSeed(seed);
+        }
+    }
+
+    public static void printChosenSeed(long seed) {
+        System.err.println("No seed given, so using --seed " + seed);
+    }
+
     protected static void printAlphaFeatureWarning(String feature) {
         System.err.println(feature + " is an ALPHA FEATURE. Please do not rely on it. If you find any issues with it, please report them at https://github.com/finos/datahelix/issues.");
     }
@@ -21,12 +21,15 @@ import com.scottlogic.deg.common.output.GeneratedObject;
 import com.scottlogic.deg.common.profile.Profile;
 import com.scottlogic.deg.generator.generation.DataGenerator;
 import com.scottlogic.deg.generator.generation.DataGeneratorMonitor;
+import com.scottlogic.deg.generator.generation.metrics.MetricsReporter;
 import com.scottlogic.deg.generator.inputs.validation.ProfileValidator;
 import com.scottlogic.deg.output.outputtarget.SingleDatasetOutputTarget;
 import com.scottlogic.deg.output.writer.DataSetWriter;
+import com.scottlogic.deg.output.writer.async.WriterBackpressure;
 import com.scottlogic.deg.profile.reader.ValidatingProfileReader;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 public class GenerateExecute {
@@ -35,34 +38,48 @@ public class GenerateExecute {
     private final DataGenerator dataGenerator;
     private final ProfileValidator profileValidator;
     private final DataGeneratorMonitor monitor;
-
+    private final WriterBackpressure writerBackpressure;
+    private final MetricsReporter metricsReporter;
 
     @Inject
     GenerateExecute(
         DataGenerator dataGenerator,
         SingleDatasetOutputTarget singleDatasetOutputTarget,
         ValidatingProfileReader profileReader, ProfileValidator profileValidator,
-        DataGeneratorMonitor monitor) {
+        DataGeneratorMonitor monitor,
+        WriterBackpressure writerBackpressure,
+        MetricsReporter metricsReporter) {
         this.dataGenerator = dataGenerator;
         this.singleDatasetOutputTarget = singleDatasetOutputTarget;
         this.profileReader = profileReader;
         this.profileValidator = profileValidator;
         this.monitor = monitor;
+        this.writerBackpressure = writerBackpressure;
+        this.metricsReporter = metricsReporter;
     }
 
-    public void execute() throws IOException {
+    /** @return the number of rows written */
+    public long execute() throws IOException {
         Profile profile = profileReader.read();
 
         profileValidator.validate(profile);
 
-        Stream<GeneratedObject> generatedDataItems = dataGenerator.generateData(profile);
+        metricsReporter.generationStarting();
+        monitor.generationStarting();
+        try {
+            Stream<GeneratedObject> generatedDataItems = dataGenerator.generateData(profile);
 
-        outputData(profile, generatedDataItems);
+            return outputData(profile, generatedDataItems);
+        } finally {
+            monitor.endGeneration();
+            metricsReporter.generationFinished();
+        }
     }
 
-    private void outputData(Profile profile, Stream<GeneratedObject> generatedDataItems) throws IOException {
+    private long outputData(Profile profile, Stream<GeneratedObject> generatedDataItems) throws IOException {
         singleDatasetOutputTarget.validate();
 
+        AtomicLong rowsWritten = new AtomicLong();
         try (DataSetWriter writer = singleDatasetOutputTarget.openWriter(profile.getFields())) {
             generatedDataItems.forEach(row -> {
                 try {
@@ -70,8 +87,12 @@ public class GenerateExecute {
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
+                rowsWritten.incrementAndGet();
             });
         }
-        monitor.endGeneration();
+        if (!writerBackpressure.isEmpty()) {
+            monitor.addLineToPrintAtEndOfGeneration(writerBackpressure.toString());
+        }
+        return rowsWritten.get();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.serve;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import com.scottlogic.deg.common.ValidationException;
+import com.scottlogic.deg.generator.generation.profilecache.CompiledProfileCache;
+import com.scottlogic.deg.generator.generation.profilecache.FileCompiledProfileCache;
+import com.scottlogic.deg.generator.generation.profilecache.InMemoryCompiledProfileCache;
+import com.scottlogic.deg.generator.generation.profilecache.NoCompiledProfileCache;
+import com.scottlogic.deg.orchestrator.generate.GenerateExecute;
+import com.scottlogic.deg.orchestrator.guice.AllModule;
+import com.scottlogic.deg.output.guice.OutputFormat;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts generation requests over HTTP on the loopback interface, so many runs can share one warmed-up JVM.
+ *
+ * A profile is POSTed to {@code /generate}, with the generate options in the query string, and the rows are streamed
+ * back as they're produced. Requests are handled concurrently, up to the configured number of threads, and share
+ * their compiled profiles.
+ */
+public class GenerationServer {
+    private final ServeConfigSource config;
+    private final CompiledProfileCache profileCache;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public GenerationServer(ServeConfigSource config) {
+        this.config = config;
+        CompiledProfileCache backingCache = config.getProfileCacheDirectory() == null
+            ? new NoCompiledProfileCache()
+            : new FileCompiledProfileCache(config.getProfileCacheDirectory(), System.err::println);
+        this.profileCache = new InMemoryCompiledProfileCache(config.getProfileCacheSize(), backingCache);
+    }
+
+    public InetSocketAddress start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getPort()), 0);
+        executor = Executors.newFixedThreadPool(config.getThreads(), new ServeThreadFactory());
+        server.setExecutor(executor);
+        server.createContext("/generate", this::handleGenerate);
+        server.start();
+        return server.getAddress();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        stopped.countDown();
+    }
+
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    private void handleGenerate(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Profiles must be POSTed to /generate");
+                return;
+            }
+
+            Path profileFile = Files.createTempFile("datahelix-profile-", ".json");
+            try {
+                Files.copy(exchange.getRequestBody(), profileFile, StandardCopyOption.REPLACE_EXISTING);
+                generate(exchange, profileFile);
+            } finally {
+                Files.deleteIfExists(profileFile);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void generate(HttpExchange exchange, Path profileFile) throws IOException {
+        ResponseStream response = new ResponseStream(exchange);
+        try {
+            ServeRequestConfigSource requestConfig = new ServeRequestConfigSource(
+                profileFile.toFile(),
+                config,
+                exchange.getRequestURI().getRawQuery());
+            exchange.getResponseHeaders().set("Content-Type", getContentType(requestConfig.getOutputFormat()));
+            // responses generated without a seed can be repeated by sending this one
+            exchange.getResponseHeaders().set("X-Seed", Long.toString(requestConfig.getSeed()));
+
+            Injector injector = Guice.createInjector(
+                Modules.override(new AllModule(requestConfig))
+                    .with(new ServeRequestModule(profileCache, response)));
+            injector.getInstance(GenerateExecute.class).execute();
+        } catch (ValidationException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            sendError(exchange, 400, String.join("\n", e.errorMessages));
+        } catch (IOException | RuntimeException e) {
+            // once rows have been sent the status can't be changed, the client only sees the response end early
+            if (response.isCommitted()) {
+                throw e;
+            }
+            sendError(exchange, 500, e.toString());
+        }
+    }
+
+    private static String getContentType(OutputFormat outputFormat) {
+        return outputFormat == OutputFormat.JSON
+            ? "application/x-ndjson; charset=utf-8"
+            : "text/csv; charset=utf-8";
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static class ServeThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "datahelix-serve-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
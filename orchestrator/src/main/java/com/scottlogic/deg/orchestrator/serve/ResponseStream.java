@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.serve;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The body of a successful response. The status line is only sent once the first bytes of data are written, so any
+ * validation error raised before then can still be reported with an error status instead.
+ */
+class ResponseStream extends OutputStream {
+    private final HttpExchange exchange;
+    private boolean committed;
+
+    ResponseStream(HttpExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        commit();
+        exchange.getResponseBody().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        commit();
+        exchange.getResponseBody().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        commit();
+        exchange.getResponseBody().flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        commit();
+        exchange.getResponseBody().close();
+    }
+
+    private void commit() throws IOException {
+        if (!committed) {
+            committed = true;
+            // a length of zero sends the body chunked, as the number of bytes isn't known up front
+            exchange.sendResponseHeaders(200, 0);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.serve;
+
+import com.scottlogic.deg.common.ValidationException;
+import picocli.CommandLine;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+/**
+ * This class holds the serve specific command line options.
+ */
+@CommandLine.Command(
+    name = "serve",
+    description = "Keeps running, generating data for each profile POSTed to http://localhost:<port>/generate.",
+    descriptionHeading = "%nDescription:%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n",
+    abbreviateSynopsis = true)
+public class ServeCommandLine implements ServeConfigSource, Callable<Integer> {
+
+    @Override
+    public Integer call() throws Exception {
+        checkServeOptions();
+
+        GenerationServer server = new GenerationServer(this);
+        InetSocketAddress address = server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+
+        System.err.println("Serving on http://" + address.getHostString() + ":" + address.getPort() + "/generate");
+        server.awaitStop();
+        return 0;
+    }
+
+    private void checkServeOptions() {
+        if (port < 0 || port > 65535) {
+            throw new ValidationException("--port must be between 0 and 65535");
+        }
+        if (threads < 1) {
+            throw new ValidationException("--threads must be at least 1");
+        }
+        if (profileCacheSize < 1) {
+            throw new ValidationException("--profile-cache-size must be at least 1");
+        }
+    }
+
+    @CommandLine.Option(
+        names = "--help",
+        usageHelp = true,
+        description = "Display these available command line options")
+    boolean help;
+
+    @CommandLine.Option(
+        names = {"--port"},
+        description = "The port to listen on, on the loopback interface only")
+    private int port = 8080;
+
+    @CommandLine.Option(
+        names = {"--threads"},
+        description = "The number of requests to generate data for at the same time")
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @CommandLine.Option(
+        names = {"--profile-cache-size"},
+        description = "The number of compiled profiles to keep in memory between requests")
+    private int profileCacheSize = 64;
+
+    @CommandLine.Option(
+        names = {"--profile-cache-directory"},
+        description = "Also keeps the decision trees built for each profile in this directory, so they outlive the server"
+    )
+    private Path profileCacheDirectory;
+
+    @CommandLine.Option(
+        names = { "--disable-schema-validation" },
+        description = "Disables schema validation")
+    boolean disableSchemaValidation = false;
+
+    @CommandLine.Option(
+        names = {"--set-from-file-directory"},
+        description = "Custom root for loading sets from file."
+    )
+    private String fromFilePath = "";
+
+    @CommandLine.Option(
+        names = {"--output-buffer-size"},
+        description = "Size in bytes of the buffer used when writing each response")
+    private int outputBufferSize = 64 * 1024;
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public int getProfileCacheSize() {
+        return profileCacheSize;
+    }
+
+    @Override
+    public Path getProfileCacheDirectory() {
+        return profileCacheDirectory;
+    }
+
+    @Override
+    public boolean isSchemaValidationDisabled() {
+        return disableSchemaValidation;
+    }
+
+    @Override
+    public String getFromFilePath() {
+        return fromFilePath;
+    }
+
+    @Override
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+}
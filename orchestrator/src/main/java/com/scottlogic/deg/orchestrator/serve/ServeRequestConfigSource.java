@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.serve;
+
+import com.scottlogic.deg.common.ValidationException;
+import com.scottlogic.deg.generator.config.detail.CombinationStrategyType;
+import com.scottlogic.deg.generator.config.detail.DataGenerationType;
+import com.scottlogic.deg.generator.config.detail.MonitorType;
+import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
+import com.scottlogic.deg.output.guice.OutputFormat;
+import com.scottlogic.deg.output.outputtarget.OutputCompression;
+import com.scottlogic.deg.output.outputtarget.Sharding;
+import com.scottlogic.deg.output.outputtarget.TeeOutput;
+import com.scottlogic.deg.output.writer.FlushPolicy;
+
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.scottlogic.deg.common.util.Defaults.DEFAULT_MAX_ROWS;
+
+/**
+ * The options for a single request to the generation server, taken from the query string of the request, e.g.
+ * {@code /generate?rows=100&seed=7&output-format=json}. Anything not given falls back to the generate command's
+ * defaults.
+ */
+class ServeRequestConfigSource implements AllConfigSource {
+    private final File profileFile;
+    private final ServeConfigSource serveConfig;
+    private final DataGenerationType generationType;
+    private final CombinationStrategyType combinationType;
+    private final OutputFormat outputFormat;
+    private final long maxRows;
+    private final long seed;
+
+    ServeRequestConfigSource(File profileFile, ServeConfigSource serveConfig, String rawQuery) {
+        this.profileFile = profileFile;
+        this.serveConfig = serveConfig;
+
+        Map<String, String> parameters = parseQuery(rawQuery);
+        generationType = getEnum(parameters, "generation-type", DataGenerationType.class, DataGenerationType.RANDOM);
+        combinationType = getEnum(parameters, "combination-strategy", CombinationStrategyType.class, CombinationStrategyType.MINIMAL);
+        outputFormat = getEnum(parameters, "output-format", OutputFormat.class, OutputFormat.CSV);
+        maxRows = getLong(parameters, "rows", DEFAULT_MAX_ROWS);
+        seed = getLong(parameters, "seed", System.nanoTime());
+
+        if (maxRows < 0) {
+            throw new ValidationException("rows must not be negative");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(decode(name), decode(value));
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long getLong(Map<String, String> parameters, String name, long defaultValue) {
+        String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException(name + " must be a whole number, but was " + value);
+        }
+    }
+
+    private static <T extends Enum<T>> T getEnum(Map<String, String> parameters, String name, Class<T> type, T defaultValue) {
+        String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        for (T option : type.getEnumConstants()) {
+            if (option.name().equalsIgnoreCase(value)) {
+                return option;
+            }
+        }
+        throw new ValidationException(name + " " + value + " is not recognised");
+    }
+
+    @Override
+    public File getProfileFile() {
+        return profileFile;
+    }
+
+    @Override
+    public boolean isSchemaValidationDisabled() {
+        return serveConfig.isSchemaValidationDisabled();
+    }
+
+    @Override
+    public String fromFilePath() {
+        return serveConfig.getFromFilePath();
+    }
+
+    @Override
+    public DataGenerationType getGenerationType() {
+        return generationType;
+    }
+
+    @Override
+    public CombinationStrategyType getCombinationStrategyType() {
+        return combinationType;
+    }
+
+    @Override
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public MonitorType getMonitorType() {
+        return MonitorType.QUIET;
+    }
+
+    @Override
+    public Path getProfileCacheDirectory() {
+        return null;
+    }
+
+    @Override
+    public Path getMetricsFile() {
+        return null;
+    }
+
+    @Override
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    @Override
+    public Path getOutputPath() {
+        return null;
+    }
+
+    @Override
+    public boolean overwriteOutputFiles() {
+        return false;
+    }
+
+    @Override
+    public boolean useStdOut() {
+        return true;
+    }
+
+    @Override
+    public boolean useNdJson() {
+        return true;
+    }
+
+    @Override
+    public int getOutputBufferSize() {
+        return serveConfig.getOutputBufferSize();
+    }
+
+    @Override
+    public FlushPolicy getFlushPolicy() {
+        // rows are pushed to the client at least once a second, so slow requests still stream
+        return new FlushPolicy(0, 0, 1000);
+    }
+
+    @Override
+    public boolean useAsyncWriter() {
+        return false;
+    }
+
+    @Override
+    public boolean useMemoryMappedOutput() {
+        return false;
+    }
+
+    @Override
+    public long getPreallocateOutputBytes() {
+        return 0;
+    }
+
+    @Override
+    public OutputCompression getOutputCompression() {
+        return OutputCompression.NONE;
+    }
+
+    @Override
+    public Sharding getSharding() {
+        return Sharding.none();
+    }
+
+    @Override
+    public List<TeeOutput> getTeeOutputs() {
+        return Collections.emptyList();
+    }
+}
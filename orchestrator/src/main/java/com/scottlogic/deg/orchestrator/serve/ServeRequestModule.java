@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.serve;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.name.Named;
+import com.scottlogic.deg.generator.generation.profilecache.CompiledProfileCache;
+import com.scottlogic.deg.output.outputtarget.SingleDatasetOutputTarget;
+import com.scottlogic.deg.output.writer.OutputWriterFactory;
+
+import java.io.BufferedOutputStream;
+
+/**
+ * Overrides the bindings of a generate run so that it shares the server's compiled profiles and writes to the
+ * response rather than to stdout or a file.
+ */
+class ServeRequestModule extends AbstractModule {
+    private final CompiledProfileCache profileCache;
+    private final ResponseStream response;
+
+    ServeRequestModule(CompiledProfileCache profileCache, ResponseStream response) {
+        this.profileCache = profileCache;
+        this.response = response;
+    }
+
+    @Override
+    protected void configure() {
+        bind(CompiledProfileCache.class).toInstance(profileCache);
+    }
+
+    @Provides
+    SingleDatasetOutputTarget provideOutputTarget(
+        OutputWriterFactory writerFactory,
+        @Named("config:outputBufferSize") int bufferSize) {
+        return fields -> writerFactory.createWriter(new BufferedOutputStream(response, bufferSize), fields);
+    }
+}
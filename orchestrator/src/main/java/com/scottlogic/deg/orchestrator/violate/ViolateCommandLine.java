@@ -19,6 +19,7 @@ package com.scottlogic.deg.orchestrator.violate;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Module;
+import com.scottlogic.deg.common.ValidationException;
 import com.scottlogic.deg.orchestrator.generate.GenerateCommandLine;
 import com.scottlogic.deg.common.profile.constraintdetail.AtomicConstraintType;
 import picocli.CommandLine;
@@ -38,7 +39,12 @@ public class ViolateCommandLine extends GenerateCommandLine implements ViolateCo
     @Override
     public Integer call() throws IOException {
         printAlphaFeatureWarning("VIOLATE command");
+        if (violationThreads < 1) {
+            throw new ValidationException("--violation-threads must be at least 1");
+        }
 
+        checkMemoryMappedOutput();
+        chooseSeed();
         Module container = new ViolateModule(this);
         Injector injector = Guice.createInjector(container);
 
@@ -52,8 +58,18 @@ public class ViolateCommandLine extends GenerateCommandLine implements ViolateCo
         description = "Choose types of constraint should not be violated")
     private List<AtomicConstraintType> constraintsToNotViolate;
 
+    @CommandLine.Option(
+        names = {"--violation-threads"},
+        description = "The number of violated profiles to generate at once, defaults to the number of processors")
+    private int violationThreads = Runtime.getRuntime().availableProcessors();
+
     public List<AtomicConstraintType> getConstraintsToNotViolate() {
         return constraintsToNotViolate;
     }
 
+    @Override
+    public int getViolationThreads() {
+        return violationThreads;
+    }
+
 }
@@ -17,12 +17,17 @@
 package com.scottlogic.deg.orchestrator.violate;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.deg.common.output.GeneratedObject;
 import com.scottlogic.deg.common.profile.Profile;
 import com.scottlogic.deg.common.profile.ViolatedProfile;
 import com.scottlogic.deg.generator.generation.DataGenerator;
+import com.scottlogic.deg.generator.generation.DataGeneratorMonitor;
+import com.scottlogic.deg.generator.generation.metrics.MetricsReporter;
 import com.scottlogic.deg.generator.inputs.profileviolation.ProfileViolator;
 import com.scottlogic.deg.generator.inputs.validation.ProfileValidator;
+import com.scottlogic.deg.generator.utils.PerThreadRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
 import com.scottlogic.deg.common.util.FileUtils;
 import com.scottlogic.deg.output.manifest.ManifestWriter;
 import com.scottlogic.deg.output.outputtarget.OutputTargetFactory;
@@ -32,7 +37,14 @@ import com.scottlogic.deg.profile.reader.ValidatingProfileReader;
 
 import java.io.IOException;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 public class ViolateExecute {
@@ -43,6 +55,10 @@ public class ViolateExecute {
     private final ViolateOutputValidator violateOutputValidator;
     private final ManifestWriter manifestWriter;
     private final ValidatingProfileReader validatingProfileReader;
+    private final PerThreadRandomNumberGenerator randomNumberGenerator;
+    private final int violationThreads;
+    private final MetricsReporter metricsReporter;
+    private final DataGeneratorMonitor monitor;
 
     @Inject
     ViolateExecute(
@@ -52,7 +68,11 @@ public class ViolateExecute {
         DataGenerator dataGenerator,
         ViolateOutputValidator violateOutputValidator,
         ManifestWriter manifestWriter,
-        ValidatingProfileReader validatingProfileReader) {
+        ValidatingProfileReader validatingProfileReader,
+        PerThreadRandomNumberGenerator randomNumberGenerator,
+        @Named("config:violationThreads") int violationThreads,
+        MetricsReporter metricsReporter,
+        DataGeneratorMonitor monitor) {
         this.outputTargetFactory = outputTargetFactory;
         this.profileValidator = profileValidator;
         this.profileViolator = profileViolator;
@@ -60,6 +80,10 @@ public class ViolateExecute {
         this.violateOutputValidator = violateOutputValidator;
         this.manifestWriter = manifestWriter;
         this.validatingProfileReader = validatingProfileReader;
+        this.randomNumberGenerator = randomNumberGenerator;
+        this.violationThreads = violationThreads;
+        this.metricsReporter = metricsReporter;
+        this.monitor = monitor;
     }
 
     public void execute() throws IOException {
@@ -68,7 +92,15 @@ public class ViolateExecute {
         profileValidator.validate(profile);
         violateOutputValidator.validate(profile);
 
-        doGeneration(profile);
+        // the datasets are generated in parallel, so they share one run of the monitor
+        metricsReporter.generationStarting();
+        monitor.generationStarting();
+        try {
+            doGeneration(profile);
+        } finally {
+            monitor.endGeneration();
+            metricsReporter.generationFinished();
+        }
     }
 
     private void doGeneration(Profile profile) throws IOException {
@@ -80,12 +112,51 @@ public class ViolateExecute {
 
         DecimalFormat intFormatter = FileUtils.getDecimalFormat(violatedProfiles.size());
 
-        int filename = 1;
-        for (Profile violatedProfile : violatedProfiles) {
-            SingleDatasetOutputTarget outputTarget =
-                outputTargetFactory.create(intFormatter.format(filename++));
-            Stream<GeneratedObject> generatedObjectStream = dataGenerator.generateData(violatedProfile);
-            outputData(profile, generatedObjectStream, outputTarget);
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(violationThreads, violatedProfiles.size()),
+            new ViolationThreadFactory());
+        try {
+            List<Future<?>> datasets = new ArrayList<>();
+            int filename = 1;
+            for (Profile violatedProfile : violatedProfiles) {
+                SingleDatasetOutputTarget outputTarget =
+                    outputTargetFactory.create(intFormatter.format(filename++));
+                // split here rather than in the task, so each dataset's random stream doesn't depend on scheduling
+                RandomNumberGenerator datasetRandom = randomNumberGenerator.split();
+
+                datasets.add(executor.submit(() -> randomNumberGenerator.callWith(datasetRandom, () -> {
+                    Stream<GeneratedObject> generatedObjectStream = dataGenerator.generateData(violatedProfile);
+                    outputData(profile, generatedObjectStream, outputTarget);
+                    return null;
+                })));
+            }
+
+            awaitAll(datasets);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> datasets) throws IOException {
+        try {
+            for (Future<?> dataset : datasets) {
+                dataset.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating violated datasets", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
         }
     }
 
@@ -104,4 +175,15 @@ public class ViolateExecute {
             });
         }
     }
-}
\ No newline at end of file
+
+    private static class ViolationThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "datahelix-violate-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
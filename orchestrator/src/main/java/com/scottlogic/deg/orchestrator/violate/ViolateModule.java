@@ -18,12 +18,17 @@ package com.scottlogic.deg.orchestrator.violate;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
 import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
 import com.scottlogic.deg.generator.guice.GeneratorModule;
 import com.scottlogic.deg.generator.inputs.profileviolation.IndividualConstraintRuleViolator;
 import com.scottlogic.deg.generator.inputs.profileviolation.IndividualRuleProfileViolator;
 import com.scottlogic.deg.generator.inputs.profileviolation.ProfileViolator;
 import com.scottlogic.deg.generator.inputs.profileviolation.RuleViolator;
+import com.scottlogic.deg.generator.utils.PerThreadRandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.RandomNumberGenerator;
+import com.scottlogic.deg.generator.utils.SplittableRandomNumberGenerator;
 import com.scottlogic.deg.generator.violations.filters.ViolationFilter;
 import com.scottlogic.deg.orchestrator.guice.AllModule;
 import com.scottlogic.deg.profile.guice.ProfileModule;
@@ -47,6 +52,16 @@ public class ViolateModule extends AbstractModule {
 
         bind(new TypeLiteral<List<ViolationFilter>>(){}).toProvider(ViolationFiltersProvider.class);
 
-        install(new AllModule(configSource));
+        bind(int.class)
+            .annotatedWith(Names.named("config:violationThreads"))
+            .toInstance(configSource.getViolationThreads());
+
+        // violated profiles are generated concurrently, so each one needs its own random stream
+        PerThreadRandomNumberGenerator randomNumberGenerator =
+            new PerThreadRandomNumberGenerator(new SplittableRandomNumberGenerator(configSource.getSeed()));
+        bind(PerThreadRandomNumberGenerator.class).toInstance(randomNumberGenerator);
+
+        install(Modules.override(new AllModule(configSource))
+            .with(binder -> binder.bind(RandomNumberGenerator.class).toInstance(randomNumberGenerator)));
     }
 }
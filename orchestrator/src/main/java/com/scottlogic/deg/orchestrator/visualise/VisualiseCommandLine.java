@@ -45,6 +45,7 @@ public class VisualiseCommandLine extends GenerateCommandLine {
     public Integer call() throws IOException {
         printAlphaFeatureWarning("VISUALISE command");
 
+        chooseSeed();
         Module container = new AllModule(this);
         Injector injector = Guice.createInjector(container);
 
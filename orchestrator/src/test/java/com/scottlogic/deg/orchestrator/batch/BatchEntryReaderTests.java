@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.batch;
+
+import com.scottlogic.deg.common.ValidationException;
+import com.scottlogic.deg.output.guice.OutputFormat;
+import org.junit.Assert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+
+public class BatchEntryReaderTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void read_withDirectory_findsProfilesRecursivelyAndMirrorsThemUnderOutputDirectory() throws IOException {
+        Path output = directory.resolve("output");
+        Path profiles = directory.resolve("profiles");
+        write(profiles.resolve("b.json"), "{}");
+        write(profiles.resolve("nested/a.json"), "{}");
+        write(profiles.resolve("notes.txt"), "");
+
+        List<BatchEntry> entries = new BatchEntryReader(OutputFormat.CSV).read(profiles, output);
+
+        Assert.assertThat(
+            entries.stream().map(entry -> entry.getProfileFile().toPath()).collect(Collectors.toList()),
+            contains(profiles.resolve("b.json"), profiles.resolve("nested/a.json")));
+        Assert.assertThat(
+            entries.stream().map(BatchEntry::getOutputPath).collect(Collectors.toList()),
+            contains(output.resolve("b.csv"), output.resolve("nested/a.csv")));
+    }
+
+    @Test
+    public void read_withManifest_resolvesPathsAgainstManifestDirectory() throws IOException {
+        Path manifest = directory.resolve("batch.json");
+        write(manifest, "{ \"profiles\": [ { \"profile\": \"trades.json\", \"output\": \"out/trades.csv\" } ] }");
+
+        List<BatchEntry> entries = new BatchEntryReader(OutputFormat.CSV).read(manifest, null);
+
+        Assert.assertThat(entries, hasSize(1));
+        Assert.assertThat(entries.get(0).getProfileFile().toPath(), equalTo(directory.resolve("trades.json")));
+        Assert.assertThat(entries.get(0).getOutputPath(), equalTo(directory.resolve("out/trades.csv")));
+    }
+
+    @Test
+    public void read_withDirectoryAndNoOutputDirectory_throws() throws IOException {
+        Files.createDirectories(directory.resolve("profiles"));
+
+        Assertions.assertThrows(
+            ValidationException.class,
+            () -> new BatchEntryReader(OutputFormat.CSV).read(directory.resolve("profiles"), null));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
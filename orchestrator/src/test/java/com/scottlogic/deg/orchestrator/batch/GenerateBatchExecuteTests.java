@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.batch;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+
+public class GenerateBatchExecuteTests {
+    private static final String PROFILE = "{" +
+        "\"schemaVersion\": \"0.8\"," +
+        "\"fields\": [{ \"name\": \"foo\", \"type\": \"string\", \"nullable\": false }]," +
+        "\"rules\": [{ \"constraints\": [{ \"field\": \"foo\", \"is\": \"equalTo\", \"value\": \"bar\" }] }]" +
+        "}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void execute_withSeveralProfiles_writesEachAndReportsItsRows() throws Exception {
+        Path first = write("first.json", PROFILE);
+        Path second = write("second.json", PROFILE);
+        GenerateBatchCommandLine batch = parse("-p", directory.toString(), "-n", "3", "--threads", "2");
+
+        List<BatchResultDTO> results = new GenerateBatchExecute(batch).execute(Arrays.asList(
+            new BatchEntry(first.toFile(), directory.resolve("out/first.csv")),
+            new BatchEntry(second.toFile(), directory.resolve("out/second.csv"))));
+
+        Assert.assertThat(results, hasSize(2));
+        for (BatchResultDTO result : results) {
+            Assert.assertThat(result.error, nullValue());
+            Assert.assertThat(result.rows, equalTo(3L));
+        }
+        Assert.assertThat(
+            Files.readAllLines(directory.resolve("out/second.csv")),
+            contains("foo", "\"bar\"", "\"bar\"", "\"bar\""));
+    }
+
+    @Test
+    public void execute_withInvalidProfile_reportsErrorAndCarriesOn() throws Exception {
+        Path invalid = write("invalid.json", "{ \"schemaVersion\": \"0.8\", \"fields\": [] }");
+        Path valid = write("valid.json", PROFILE);
+        GenerateBatchCommandLine batch = parse("-p", directory.toString(), "-n", "1");
+
+        List<BatchResultDTO> results = new GenerateBatchExecute(batch).execute(Arrays.asList(
+            new BatchEntry(invalid.toFile(), directory.resolve("out/invalid.csv")),
+            new BatchEntry(valid.toFile(), directory.resolve("out/valid.csv"))));
+
+        Assert.assertThat(results.get(0).error, not(isEmptyOrNullString()));
+        Assert.assertThat(results.get(1).error, nullValue());
+        Assert.assertThat(results.get(1).rows, equalTo(1L));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static GenerateBatchCommandLine parse(String... args) {
+        GenerateBatchCommandLine batch = new GenerateBatchCommandLine();
+        new CommandLine(batch).parseArgs(args);
+        return batch;
+    }
+}
@@ -23,10 +23,15 @@ import com.scottlogic.deg.generator.config.detail.MonitorType;
 import com.scottlogic.deg.orchestrator.guice.AllConfigSource;
 import com.scottlogic.deg.orchestrator.violate.ViolateConfigSource;
 import com.scottlogic.deg.output.guice.OutputFormat;
+import com.scottlogic.deg.output.outputtarget.OutputCompression;
+import com.scottlogic.deg.output.outputtarget.Sharding;
+import com.scottlogic.deg.output.outputtarget.TeeOutput;
+import com.scottlogic.deg.output.writer.FlushPolicy;
 import com.scottlogic.deg.common.profile.constraintdetail.AtomicConstraintType;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 
 public class CucumberGenerationConfigSource implements AllConfigSource, ViolateConfigSource {
@@ -52,6 +57,11 @@ public class CucumberGenerationConfigSource implements AllConfigSource, ViolateC
         return state.getConstraintsToNotViolate();
     }
 
+    @Override
+    public int getViolationThreads() {
+        return 1;
+    }
+
     @Override
     public MonitorType getMonitorType() {
         return MonitorType.QUIET;
@@ -62,6 +72,21 @@ public class CucumberGenerationConfigSource implements AllConfigSource, ViolateC
         return state.maxRows;
     }
 
+    @Override
+    public long getSeed() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public Path getProfileCacheDirectory() {
+        return null;
+    }
+
+    @Override
+    public Path getMetricsFile() {
+        return null;
+    }
+
     @Override
     public Path getOutputPath() {
         return new File("mockFilePath").toPath();
@@ -97,6 +122,46 @@ public class CucumberGenerationConfigSource implements AllConfigSource, ViolateC
         return null;
     }
 
+    @Override
+    public int getOutputBufferSize() {
+        return 8192;
+    }
+
+    @Override
+    public FlushPolicy getFlushPolicy() {
+        return FlushPolicy.ON_CLOSE;
+    }
+
+    @Override
+    public boolean useAsyncWriter() {
+        return false;
+    }
+
+    @Override
+    public boolean useMemoryMappedOutput() {
+        return false;
+    }
+
+    @Override
+    public long getPreallocateOutputBytes() {
+        return 0;
+    }
+
+    @Override
+    public OutputCompression getOutputCompression() {
+        return OutputCompression.NONE;
+    }
+
+    @Override
+    public Sharding getSharding() {
+        return Sharding.none();
+    }
+
+    @Override
+    public List<TeeOutput> getTeeOutputs() {
+        return Collections.emptyList();
+    }
+
     @Override
     public String fromFilePath() { return ""; }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.embedded;
+
+import com.scottlogic.deg.common.ValidationException;
+import org.junit.Assert;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+
+public class EmbeddedGeneratorTests {
+    private static final String PROFILE = "{" +
+        "\"schemaVersion\": \"0.8\"," +
+        "\"fields\": [" +
+        "  { \"name\": \"id\", \"type\": \"integer\", \"nullable\": false }," +
+        "  { \"name\": \"side\", \"type\": \"string\", \"nullable\": false }," +
+        "  { \"name\": \"traded\", \"type\": \"datetime\", \"nullable\": false }" +
+        "]," +
+        "\"rules\": [" +
+        "  { \"constraints\": [" +
+        "    { \"field\": \"id\", \"is\": \"greaterThanOrEqualTo\", \"value\": 1 }," +
+        "    { \"field\": \"id\", \"is\": \"lessThanOrEqualTo\", \"value\": 10 }," +
+        "    { \"field\": \"side\", \"is\": \"inSet\", \"values\": [ \"BUY\", \"SELL\" ] }," +
+        "    { \"field\": \"traded\", \"is\": \"after\", \"value\": { \"date\": \"2019-09-02T09:30:00.000\" } }," +
+        "    { \"field\": \"traded\", \"is\": \"before\", \"value\": { \"date\": \"2019-09-02T16:30:00.000\" } }" +
+        "  ] }" +
+        "]" +
+        "}";
+
+    @Test
+    public void generate_fromJson_returnsTypedRowsInFieldOrder() throws IOException {
+        try (GeneratedRows rows = EmbeddedGenerator.fromJson(PROFILE).withMaxRows(20).withSeed(7).generate()) {
+            List<GeneratedRow> generated = rows.stream().collect(Collectors.toList());
+
+            Assert.assertThat(generated, hasSize(20));
+            for (GeneratedRow row : generated) {
+                Assert.assertThat(row.size(), equalTo(3));
+                Assert.assertThat(row.indexOf("traded"), equalTo(2));
+                Assert.assertThat(row.getBigDecimal(0), both(greaterThanOrEqualTo(BigDecimal.ONE)).and(lessThanOrEqualTo(BigDecimal.TEN)));
+                Assert.assertThat(row.getString(1), isOneOf("BUY", "SELL"));
+                Assert.assertThat(row.getDateTime(2), both(greaterThan(OffsetDateTime.of(2019, 9, 2, 9, 30, 0, 0, ZoneOffset.UTC)))
+                    .and(lessThan(OffsetDateTime.of(2019, 9, 2, 16, 30, 0, 0, ZoneOffset.UTC))));
+            }
+        }
+    }
+
+    @Test
+    public void generate_twiceWithSameSeed_returnsSameRows() throws IOException {
+        EmbeddedGenerator generator = EmbeddedGenerator.fromJson(PROFILE).withMaxRows(10).withSeed(7);
+
+        Assert.assertThat(valuesOf(generator.generate()), equalTo(valuesOf(generator.generate())));
+    }
+
+    @Test
+    public void getString_forNumericValue_throws() throws IOException {
+        try (GeneratedRows rows = EmbeddedGenerator.fromJson(PROFILE).withMaxRows(1).withSeed(7).generate()) {
+            GeneratedRow row = rows.next();
+
+            Assertions.assertThrows(IllegalStateException.class, () -> row.getString(0));
+        }
+    }
+
+    @Test
+    public void generate_withProfileFailingSchemaValidation_throws() {
+        EmbeddedGenerator generator = EmbeddedGenerator.fromJson("{ \"schemaVersion\": \"0.8\", \"fields\": [] }");
+
+        Assertions.assertThrows(ValidationException.class, generator::generate);
+    }
+
+    private static List<String> valuesOf(GeneratedRows rows) {
+        try (GeneratedRows closing = rows) {
+            return closing.stream().map(GeneratedRow::toString).collect(Collectors.toList());
+        }
+    }
+}
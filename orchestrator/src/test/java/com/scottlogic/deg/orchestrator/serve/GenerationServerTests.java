@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.deg.orchestrator.serve;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.*;
+
+public class GenerationServerTests {
+    private static final String PROFILE = "{" +
+        "\"schemaVersion\": \"0.8\"," +
+        "\"fields\": [{ \"name\": \"foo\", \"type\": \"string\", \"nullable\": false }]," +
+        "\"rules\": [{ \"constraints\": [{ \"field\": \"foo\", \"is\": \"equalTo\", \"value\": \"bar\" }] }]" +
+        "}";
+
+    private GenerationServer server;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new GenerationServer(new TestServeConfigSource());
+        address = server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void generate_withValidProfile_streamsRequestedNumberOfRows() throws IOException {
+        HttpURLConnection connection = post("/generate?rows=3&seed=7", PROFILE);
+
+        Assert.assertThat(connection.getResponseCode(), equalTo(200));
+        Assert.assertThat(connection.getContentType(), startsWith("text/csv"));
+        Assert.assertThat(read(connection.getInputStream()), equalTo("foo\n\"bar\"\n\"bar\"\n\"bar\"\n"));
+    }
+
+    @Test
+    public void generate_withSameProfileTwice_returnsSameRowsForSameSeed() throws IOException {
+        String first = read(post("/generate?rows=5&seed=7&output-format=json", PROFILE).getInputStream());
+        String second = read(post("/generate?rows=5&seed=7&output-format=json", PROFILE).getInputStream());
+
+        Assert.assertThat(second, equalTo(first));
+    }
+
+    @Test
+    public void generate_withInvalidOption_respondsWithBadRequest() throws IOException {
+        HttpURLConnection connection = post("/generate?rows=many", PROFILE);
+
+        Assert.assertThat(connection.getResponseCode(), equalTo(400));
+        Assert.assertThat(read(connection.getErrorStream()), containsString("rows must be a whole number"));
+    }
+
+    @Test
+    public void generate_withGet_respondsWithMethodNotAllowed() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url("/generate").openConnection();
+
+        Assert.assertThat(connection.getResponseCode(), equalTo(405));
+    }
+
+    private HttpURLConnection post(String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url(path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return connection;
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("http", address.getHostString(), address.getPort(), path);
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        input.close();
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+    }
+
+    private static class TestServeConfigSource implements ServeConfigSource {
+        @Override
+        public int getPort() {
+            return 0;
+        }
+
+        @Override
+        public int getThreads() {
+            return 2;
+        }
+
+        @Override
+        public int getProfileCacheSize() {
+            return 4;
+        }
+
+        @Override
+        public Path getProfileCacheDirectory() {
+            return null;
+        }
+
+        @Override
+        public boolean isSchemaValidationDisabled() {
+            return false;
+        }
+
+        @Override
+        public String getFromFilePath() {
+            return "";
+        }
+
+        @Override
+        public int getOutputBufferSize() {
+            return 1024;
+        }
+    }
+}
@@ -16,7 +16,13 @@
 
 package com.scottlogic.deg.output.guice;
 
+import com.scottlogic.deg.output.outputtarget.OutputCompression;
+import com.scottlogic.deg.output.outputtarget.Sharding;
+import com.scottlogic.deg.output.outputtarget.TeeOutput;
+import com.scottlogic.deg.output.writer.FlushPolicy;
+
 import java.nio.file.Path;
+import java.util.List;
 
 public interface OutputConfigSource {
     OutputFormat getOutputFormat();
@@ -24,4 +30,12 @@ public interface OutputConfigSource {
     boolean overwriteOutputFiles();
     boolean useStdOut();
     boolean useNdJson();
+    int getOutputBufferSize();
+    FlushPolicy getFlushPolicy();
+    boolean useAsyncWriter();
+    boolean useMemoryMappedOutput();
+    long getPreallocateOutputBytes();
+    OutputCompression getOutputCompression();
+    Sharding getSharding();
+    List<TeeOutput> getTeeOutputs();
 }
@@ -21,7 +21,10 @@ import com.google.inject.name.Names;
 import com.scottlogic.deg.output.OutputPath;
 import com.scottlogic.deg.output.manifest.JsonManifestWriter;
 import com.scottlogic.deg.output.manifest.ManifestWriter;
+import com.scottlogic.deg.output.outputtarget.OutputCompression;
+import com.scottlogic.deg.output.outputtarget.Sharding;
 import com.scottlogic.deg.output.outputtarget.SingleDatasetOutputTarget;
+import com.scottlogic.deg.output.writer.FlushPolicy;
 import com.scottlogic.deg.output.writer.OutputWriterFactory;
 
 public class OutputModule extends AbstractModule {
@@ -40,6 +43,9 @@ public class OutputModule extends AbstractModule {
         bind(ManifestWriter.class).to(JsonManifestWriter.class);
 
         bind(OutputPath.class).toInstance(new OutputPath(outputConfigSource.getOutputPath()));
+        bind(FlushPolicy.class).toInstance(outputConfigSource.getFlushPolicy());
+        bind(OutputCompression.class).toInstance(outputConfigSource.getOutputCompression());
+        bind(Sharding.class).toInstance(outputConfigSource.getSharding());
 
         bind(boolean.class)
             .annotatedWith(Names.named("config:canOverwriteOutputFiles"))
@@ -48,5 +54,17 @@ public class OutputModule extends AbstractModule {
         bind(boolean.class)
             .annotatedWith(Names.named("config:useNdJson"))
             .toInstance(outputConfigSource.useNdJson());
+
+        bind(int.class)
+            .annotatedWith(Names.named("config:outputBufferSize"))
+            .toInstance(outputConfigSource.getOutputBufferSize());
+
+        bind(boolean.class)
+            .annotatedWith(Names.named("config:memoryMapOutput"))
+            .toInstance(outputConfigSource.useMemoryMappedOutput());
+
+        bind(long.class)
+            .annotatedWith(Names.named("config:preallocateOutputBytes"))
+            .toInstance(outputConfigSource.getPreallocateOutputBytes());
     }
 }
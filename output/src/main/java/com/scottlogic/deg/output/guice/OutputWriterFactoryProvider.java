@@ -18,7 +18,11 @@ package com.scottlogic.deg.output.guice;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.output.writer.OutputWriterFactory;
+import com.scottlogic.deg.output.writer.TimedOutputWriterFactory;
+import com.scottlogic.deg.output.writer.async.AsyncOutputWriterFactory;
+import com.scottlogic.deg.output.writer.async.WriterBackpressure;
 import com.scottlogic.deg.output.writer.csv.CsvOutputWriterFactory;
 import com.scottlogic.deg.output.writer.json.JsonOutputWriterFactory;
 
@@ -26,30 +30,52 @@ public class OutputWriterFactoryProvider implements Provider<OutputWriterFactory
     private final OutputConfigSource configSource;
     private final CsvOutputWriterFactory csvOutputWriterFactory;
     private final JsonOutputWriterFactory jsonOutputWriterFactory;
+    private final WriterBackpressure backpressure;
+    private final GenerationMetrics metrics;
 
     @Inject
     public OutputWriterFactoryProvider(
         OutputConfigSource configSource,
         CsvOutputWriterFactory csvOutputWriterFactory,
-        JsonOutputWriterFactory jsonOutputWriterFactory)
+        JsonOutputWriterFactory jsonOutputWriterFactory,
+        WriterBackpressure backpressure,
+        GenerationMetrics metrics)
     {
         this.configSource = configSource;
         this.csvOutputWriterFactory = csvOutputWriterFactory;
         this.jsonOutputWriterFactory = jsonOutputWriterFactory;
+        this.backpressure = backpressure;
+        this.metrics = metrics;
     }
 
     @Override
     public OutputWriterFactory get() {
-        switch (configSource.getOutputFormat()){
+        OutputWriterFactory formatFactory = getFormatFactory(configSource.getOutputFormat());
+        boolean useAsyncWriter = configSource.useAsyncWriter()
+            || configSource.getSharding().isEnabled()
+            || !configSource.getTeeOutputs().isEmpty();
+        return useAsyncWriter
+            ? new AsyncOutputWriterFactory(formatFactory, backpressure)
+            : formatFactory;
+    }
+
+    /** Each tee output is written on its own thread, so the slowest format doesn't hold up the others */
+    OutputWriterFactory getTeeWriterFactory(OutputFormat outputFormat) {
+        return new AsyncOutputWriterFactory(getFormatFactory(outputFormat), backpressure);
+    }
+
+    /** Timed inside any async wrapper, so that writing is timed on the thread that actually formats and writes */
+    private OutputWriterFactory getFormatFactory(OutputFormat outputFormat) {
+        switch (outputFormat){
             case CSV:
-                return csvOutputWriterFactory;
+                return new TimedOutputWriterFactory(csvOutputWriterFactory, metrics);
             case JSON:
-                return jsonOutputWriterFactory;
+                return new TimedOutputWriterFactory(jsonOutputWriterFactory, metrics);
         }
 
         throw new RuntimeException(String.format(
             "Unknown output format %s, options are CSV or JSON",
-            configSource.getOutputFormat()
+            outputFormat
         ));
     }
 }
@@ -18,32 +18,76 @@ package com.scottlogic.deg.output.guice;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
+import com.scottlogic.deg.common.util.FileUtils;
+import com.scottlogic.deg.output.OutputPath;
 import com.scottlogic.deg.output.outputtarget.FileOutputTarget;
+import com.scottlogic.deg.output.outputtarget.FileStreamFactory;
+import com.scottlogic.deg.output.outputtarget.ShardedOutputTarget;
 import com.scottlogic.deg.output.outputtarget.SingleDatasetOutputTarget;
 import com.scottlogic.deg.output.outputtarget.StdoutOutputTarget;
+import com.scottlogic.deg.output.outputtarget.TeeOutput;
+import com.scottlogic.deg.output.outputtarget.TeeOutputTarget;
 
-import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SingleDatasetOutputTargetProvider implements Provider<SingleDatasetOutputTarget> {
     private final OutputConfigSource outputConfigSource;
     private final FileOutputTarget fileOutputTarget;
     private final StdoutOutputTarget stdoutOutputTarget;
+    private final Provider<ShardedOutputTarget> shardedOutputTarget;
+    private final OutputWriterFactoryProvider outputWriterFactoryProvider;
+    private final boolean canOverwriteOutputFiles;
+    private final FileUtils fileUtils;
+    private final FileStreamFactory fileStreamFactory;
 
     @Inject
     SingleDatasetOutputTargetProvider(
         OutputConfigSource outputConfigSource,
         FileOutputTarget fileOutputTarget,
-        StdoutOutputTarget stdoutOutputTarget){
+        StdoutOutputTarget stdoutOutputTarget,
+        Provider<ShardedOutputTarget> shardedOutputTarget,
+        OutputWriterFactoryProvider outputWriterFactoryProvider,
+        @Named("config:canOverwriteOutputFiles") boolean canOverwriteOutputFiles,
+        FileUtils fileUtils,
+        FileStreamFactory fileStreamFactory){
         this.outputConfigSource = outputConfigSource;
         this.fileOutputTarget = fileOutputTarget;
         this.stdoutOutputTarget = stdoutOutputTarget;
+        this.shardedOutputTarget = shardedOutputTarget;
+        this.outputWriterFactoryProvider = outputWriterFactoryProvider;
+        this.canOverwriteOutputFiles = canOverwriteOutputFiles;
+        this.fileUtils = fileUtils;
+        this.fileStreamFactory = fileStreamFactory;
     }
 
     @Override
     public SingleDatasetOutputTarget get() {
+        if (outputConfigSource.getTeeOutputs().isEmpty()) {
+            return getPrimaryTarget();
+        }
+
+        List<SingleDatasetOutputTarget> targets = new ArrayList<>();
+        targets.add(getPrimaryTarget());
+        for (TeeOutput teeOutput : outputConfigSource.getTeeOutputs()) {
+            targets.add(new FileOutputTarget(
+                new OutputPath(teeOutput.getPath()),
+                outputWriterFactoryProvider.getTeeWriterFactory(teeOutput.getFormat()),
+                canOverwriteOutputFiles,
+                fileUtils,
+                fileStreamFactory));
+        }
+        return new TeeOutputTarget(targets);
+    }
+
+    private SingleDatasetOutputTarget getPrimaryTarget() {
         if (outputConfigSource.useStdOut()){
             return stdoutOutputTarget;
         }
+        if (outputConfigSource.getSharding().isEnabled()) {
+            return shardedOutputTarget.get();
+        }
         return fileOutputTarget;
     }
 }
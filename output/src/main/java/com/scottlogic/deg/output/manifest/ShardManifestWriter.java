@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.manifest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Charsets;
+import com.google.inject.Inject;
+import com.scottlogic.deg.output.OutputPath;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ShardManifestWriter {
+    private final Path outputPath;
+
+    @Inject
+    public ShardManifestWriter(OutputPath outputPath) {
+        this.outputPath = outputPath.getPath();
+    }
+
+    public void writeManifest(List<ShardManifestDTO.ShardDTO> shards) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+
+        String manifestAsJson = mapper.writerWithDefaultPrettyPrinter()
+            .writeValueAsString(new ShardManifestDTO(shards));
+
+        Files.write(outputPath.resolve("manifest.json"), manifestAsJson.getBytes(Charsets.UTF_8));
+    }
+}
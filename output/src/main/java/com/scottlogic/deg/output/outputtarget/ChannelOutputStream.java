@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes to a file through a FileChannel using a direct buffer, so data is handed to the OS without being copied
+ * into a temporary native buffer on every write. The file can be extended up front to reserve space, in which case
+ * it is truncated to the length actually written when closed.
+ */
+class ChannelOutputStream extends OutputStream {
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final long preallocatedBytes;
+    private long position;
+
+    ChannelOutputStream(FileChannel channel, int bufferSize, long preallocateBytes) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.preallocatedBytes = preallocateBytes;
+
+        if (preallocateBytes > 0) {
+            channel.write(ByteBuffer.allocate(1), preallocateBytes - 1);
+            channel.position(0);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put((byte) b);
+        position++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (length >= buffer.capacity()) {
+            drain();
+            writeFully(ByteBuffer.wrap(bytes, offset, length));
+        } else {
+            if (length > buffer.remaining()) {
+                drain();
+            }
+            buffer.put(bytes, offset, length);
+        }
+        position += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            if (preallocatedBytes > position) {
+                channel.truncate(position);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
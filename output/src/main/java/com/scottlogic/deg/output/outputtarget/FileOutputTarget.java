@@ -24,7 +24,6 @@ import com.scottlogic.deg.output.OutputPath;
 import com.scottlogic.deg.output.writer.DataSetWriter;
 import com.scottlogic.deg.output.writer.OutputWriterFactory;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Path;
@@ -34,23 +33,24 @@ public class FileOutputTarget implements SingleDatasetOutputTarget {
     private final boolean canOverwriteExistingFiles;
     private final OutputWriterFactory outputWriterFactory;
     private final FileUtils fileUtils;
+    private final FileStreamFactory fileStreamFactory;
 
     @Inject
     public FileOutputTarget(
         OutputPath outputPath,
         OutputWriterFactory outputWriterFactory,
-        @Named("config:canOverwriteOutputFiles") boolean canOverwriteOutputFiles, FileUtils fileUtils) {
+        @Named("config:canOverwriteOutputFiles") boolean canOverwriteOutputFiles, FileUtils fileUtils,
+        FileStreamFactory fileStreamFactory) {
         this.canOverwriteExistingFiles = canOverwriteOutputFiles;
         this.outputWriterFactory = outputWriterFactory;
         this.fileUtils = fileUtils;
         this.filePath = outputPath.getPath();
+        this.fileStreamFactory = fileStreamFactory;
     }
 
     @Override
     public DataSetWriter openWriter(ProfileFields fields) throws IOException {
-        final OutputStream stream = new FileOutputStream(
-            this.filePath.toFile(),
-            false);
+        final OutputStream stream = fileStreamFactory.open(this.filePath);
 
         try {
             return outputWriterFactory.createWriter(stream, fields);
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import com.google.common.io.CountingOutputStream;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Opens the stream that a file output target writes to, replacing any existing content. */
+public class FileStreamFactory {
+    private static final long MAPPED_REGION_SIZE = 64L * 1024 * 1024;
+
+    private final int bufferSize;
+    private final boolean memoryMapped;
+    private final long preallocateBytes;
+    private final OutputCompression compression;
+    private final GenerationMetrics metrics;
+
+    @Inject
+    public FileStreamFactory(
+        @Named("config:outputBufferSize") int bufferSize,
+        @Named("config:memoryMapOutput") boolean memoryMapped,
+        @Named("config:preallocateOutputBytes") long preallocateBytes,
+        OutputCompression compression,
+        GenerationMetrics metrics) {
+        this.bufferSize = bufferSize;
+        this.memoryMapped = memoryMapped;
+        this.preallocateBytes = preallocateBytes;
+        this.compression = compression;
+        this.metrics = metrics;
+    }
+
+    public OutputStream open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+
+        try {
+            OutputStream fileStream = memoryMapped
+                ? new MappedOutputStream(channel, MAPPED_REGION_SIZE, preallocateBytes)
+                : new ChannelOutputStream(channel, bufferSize, preallocateBytes);
+            CountingOutputStream countingStream = new CountingOutputStream(fileStream);
+            metrics.addBytesWrittenCounter(countingStream::getCount);
+            return compression.compress(countingStream);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes to a file by copying into memory-mapped regions, mapping the next region as each one fills up.
+ * The file is extended a region at a time, and can be extended up front to reserve space; either way it is truncated
+ * to the length actually written when closed.
+ *
+ * Windows doesn't allow a file to be truncated while it is still mapped, so the command line rejects memory-mapped
+ * output there.
+ */
+class MappedOutputStream extends OutputStream {
+    private final FileChannel channel;
+    private final long regionSize;
+    private MappedByteBuffer region;
+    private long position;
+
+    MappedOutputStream(FileChannel channel, long regionSize, long preallocateBytes) throws IOException {
+        this.channel = channel;
+        this.regionSize = regionSize;
+
+        // extend the file separately, a mapped region can't be larger than Integer.MAX_VALUE bytes
+        if (preallocateBytes > 0) {
+            channel.write(ByteBuffer.allocate(1), preallocateBytes - 1);
+        }
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!region.hasRemaining()) {
+            mapNextRegion();
+        }
+        region.put((byte) b);
+        position++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!region.hasRemaining()) {
+                mapNextRegion();
+            }
+            int chunk = Math.min(length, region.remaining());
+            region.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            position += chunk;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            region = null;
+            channel.truncate(position);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void mapNextRegion() throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, position, regionSize);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+public enum OutputCompression {
+    NONE(null, null),
+    GZIP(ParallelDeflateOutputStream.Container.GZIP, "gz"),
+    DEFLATE(ParallelDeflateOutputStream.Container.ZLIB, "zz");
+
+    private final ParallelDeflateOutputStream.Container container;
+    private final String fileExtension;
+
+    OutputCompression(ParallelDeflateOutputStream.Container container, String fileExtension) {
+        this.container = container;
+        this.fileExtension = fileExtension;
+    }
+
+    public OutputStream compress(OutputStream stream) throws IOException {
+        return container == null
+            ? stream
+            : new ParallelDeflateOutputStream(stream, container);
+    }
+
+    public Optional<String> getFileExtensionWithoutDot() {
+        return Optional.ofNullable(fileExtension);
+    }
+}
@@ -30,29 +30,43 @@ public class OutputTargetFactory {
     private final boolean canOverwriteExistingFiles;
     private final OutputWriterFactory formatOfViolationDatasets;
     private final FileUtils fileUtils;
+    private final FileStreamFactory fileStreamFactory;
+    private final OutputCompression compression;
 
     @Inject
     public OutputTargetFactory(
         OutputPath directoryPath,
         OutputWriterFactory formatOfViolationDatasets,
         @Named("config:canOverwriteOutputFiles") boolean canOverwriteExistingFiles,
-        FileUtils fileUtils) {
+        FileUtils fileUtils,
+        FileStreamFactory fileStreamFactory,
+        OutputCompression compression) {
         this.directoryPath = directoryPath.getPath();
         this.canOverwriteExistingFiles = canOverwriteExistingFiles;
         this.formatOfViolationDatasets = formatOfViolationDatasets;
         this.fileUtils = fileUtils;
+        this.fileStreamFactory = fileStreamFactory;
+        this.compression = compression;
     }
 
     public SingleDatasetOutputTarget create(String name) {
-        String filename =
-            formatOfViolationDatasets.getFileExtensionWithoutDot()
-                .map(extension -> name + "." + extension)
-                .orElse(name);
+        String filename = getFilename(name);
 
         return new FileOutputTarget(
             new OutputPath(directoryPath.resolve(filename)),
             formatOfViolationDatasets,
             canOverwriteExistingFiles,
-            fileUtils);
+            fileUtils,
+            fileStreamFactory);
+    }
+
+    public String getFilename(String name) {
+        String uncompressedFilename =
+            formatOfViolationDatasets.getFileExtensionWithoutDot()
+                .map(extension -> name + "." + extension)
+                .orElse(name);
+        return compression.getFileExtensionWithoutDot()
+            .map(extension -> uncompressedFilename + "." + extension)
+            .orElse(uncompressedFilename);
     }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses a stream in independent blocks on a pool of worker threads, in the style of pigz.
+ *
+ * Each block is deflated on its own, primed with the last 32KB of the block before it, and ends on a byte boundary.
+ * The compressed blocks are written out in order to form a single deflate stream, wrapped in a gzip or zlib
+ * header and trailer. The checksum is calculated as data is written, since it has to cover the whole stream.
+ */
+public class ParallelDeflateOutputStream extends OutputStream {
+    public enum Container { GZIP, ZLIB }
+
+    private static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private final OutputStream out;
+    private final Container container;
+    private final Checksum checksum;
+    private final int blockSize;
+    private final ExecutorService workers;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+    private byte[] block;
+    private int blockLength;
+    private byte[] previousBlock;
+    private int previousBlockLength;
+    private long uncompressedLength;
+    private boolean closed;
+
+    public ParallelDeflateOutputStream(OutputStream out, Container container) throws IOException {
+        this(out, container, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    ParallelDeflateOutputStream(OutputStream out, Container container, int blockSize, int threads) throws IOException {
+        this.out = out;
+        this.container = container;
+        this.checksum = container == Container.GZIP ? new CRC32() : new Adler32();
+        this.blockSize = blockSize;
+        this.block = new byte[blockSize];
+        this.maxPendingBlocks = threads * 2;
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "datahelix-compression");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        writeHeader();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        block[blockLength++] = (byte) b;
+        checksum.update(b);
+        uncompressedLength++;
+        if (blockLength == blockSize) {
+            submitBlock(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        checksum.update(bytes, offset, length);
+        uncompressedLength += length;
+
+        while (length > 0) {
+            int chunk = Math.min(length, blockSize - blockLength);
+            System.arraycopy(bytes, offset, block, blockLength, chunk);
+            blockLength += chunk;
+            offset += chunk;
+            length -= chunk;
+            if (blockLength == blockSize) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    /** Compresses whatever has been written so far and passes it on, at a small cost to the compression ratio. */
+    @Override
+    public void flush() throws IOException {
+        if (blockLength > 0) {
+            submitBlock(false);
+        }
+        writePendingBlocks(0);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            submitBlock(true);
+            writePendingBlocks(0);
+            writeTrailer();
+        } finally {
+            workers.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        byte[] data = block;
+        int length = blockLength;
+        byte[] dictionary = previousBlock;
+        int dictionaryEnd = previousBlockLength;
+
+        pendingBlocks.add(workers.submit(() -> compress(data, length, dictionary, dictionaryEnd, last)));
+
+        previousBlock = length >= DICTIONARY_SIZE ? data : null;
+        previousBlockLength = length;
+        block = new byte[blockSize];
+        blockLength = 0;
+
+        writePendingBlocks(maxPendingBlocks);
+    }
+
+    private static byte[] compress(byte[] data, int length, byte[] dictionary, int dictionaryEnd, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null) {
+                // the offset overload of setDictionary ignores its offset on some JDKs, so pass a copy of the window
+                deflater.setDictionary(Arrays.copyOfRange(dictionary, dictionaryEnd - DICTIONARY_SIZE, dictionaryEnd));
+            }
+            deflater.setInput(data, 0, length);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buffer = new byte[16 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                // a sync flush ends the block on a byte boundary without marking it as the final one
+                int written;
+                do {
+                    written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buffer, 0, written);
+                } while (written == buffer.length);
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writePendingBlocks(int leavePending) throws IOException {
+        while (pendingBlocks.size() > leavePending) {
+            try {
+                out.write(pendingBlocks.remove().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while compressing output");
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to compress output", e.getCause());
+            }
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        if (container == Container.GZIP) {
+            // magic number, deflate, no flags, no modification time, no extra flags, unknown OS
+            out.write(new byte[] { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff });
+        } else {
+            // deflate with a 32KB window, default compression level
+            out.write(new byte[] { 0x78, (byte) 0x9c });
+        }
+    }
+
+    private void writeTrailer() throws IOException {
+        long value = checksum.getValue();
+        if (container == Container.GZIP) {
+            writeIntLittleEndian(value);
+            writeIntLittleEndian(uncompressedLength);
+        } else {
+            out.write(new byte[] {
+                (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value
+            });
+        }
+    }
+
+    private void writeIntLittleEndian(long value) throws IOException {
+        out.write(new byte[] {
+            (byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)
+        });
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.output.manifest.ShardManifestDTO;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits rows across several writers, recording how many rows each one received.
+ */
+class ShardedDataSetWriter implements DataSetWriter {
+    interface ShardOpener {
+        DataSetWriter open(int shardIndex) throws IOException;
+    }
+
+    interface ShardNamer {
+        String fileName(int shardIndex);
+    }
+
+    interface ManifestCallback {
+        void shardsWritten(List<ShardManifestDTO.ShardDTO> shards) throws IOException;
+    }
+
+    private final ShardOpener opener;
+    private final ShardNamer namer;
+    private final ManifestCallback manifestCallback;
+    private final long rowsPerShard;
+
+    private final List<DataSetWriter> writers = new ArrayList<>();
+    private final List<Long> rowCounts = new ArrayList<>();
+    private int currentShard;
+    private long rowsInCurrentShard;
+
+    private ShardedDataSetWriter(
+        ShardOpener opener,
+        ShardNamer namer,
+        ManifestCallback manifestCallback,
+        long rowsPerShard) {
+        this.opener = opener;
+        this.namer = namer;
+        this.manifestCallback = manifestCallback;
+        this.rowsPerShard = rowsPerShard;
+    }
+
+    static DataSetWriter open(
+        Sharding sharding,
+        ShardOpener opener,
+        ShardNamer namer,
+        ManifestCallback manifestCallback) throws IOException {
+        ShardedDataSetWriter writer = new ShardedDataSetWriter(
+            opener,
+            namer,
+            manifestCallback,
+            sharding.getRowsPerShard());
+
+        try {
+            int initialShards = sharding.getShardCount() > 0 ? sharding.getShardCount() : 1;
+            for (int i = 0; i < initialShards; i++) {
+                writer.openShard();
+            }
+        } catch (IOException | RuntimeException e) {
+            writer.closeWriters(e);
+            throw e;
+        }
+        return writer;
+    }
+
+    @Override
+    public void writeRow(GeneratedObject row) throws IOException {
+        if (rowsPerShard > 0) {
+            if (rowsInCurrentShard == rowsPerShard) {
+                // open the next shard first, so a failure leaves the full one open for close() to close exactly once
+                openShard();
+                DataSetWriter fullShard = writers.get(currentShard);
+                currentShard++;
+                rowsInCurrentShard = 0;
+                fullShard.close();
+            }
+            rowsInCurrentShard++;
+        }
+
+        writers.get(currentShard).writeRow(row);
+        rowCounts.set(currentShard, rowCounts.get(currentShard) + 1);
+
+        if (rowsPerShard == 0) {
+            currentShard = (currentShard + 1) % writers.size();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeWriters(null);
+
+        List<ShardManifestDTO.ShardDTO> shards = new ArrayList<>();
+        for (int i = 0; i < writers.size(); i++) {
+            shards.add(new ShardManifestDTO.ShardDTO(namer.fileName(i), rowCounts.get(i)));
+        }
+        manifestCallback.shardsWritten(shards);
+    }
+
+    private void openShard() throws IOException {
+        writers.add(opener.open(writers.size()));
+        rowCounts.add(0L);
+    }
+
+    private void closeWriters(Exception alreadyThrown) throws IOException {
+        Exception failure = alreadyThrown;
+        int firstOpenShard = rowsPerShard > 0 ? currentShard : 0;
+        for (DataSetWriter writer : writers.subList(firstOpenShard, writers.size())) {
+            try {
+                writer.close();
+            } catch (IOException | RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (alreadyThrown == null && failure != null) {
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            throw (RuntimeException) failure;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.common.util.FileUtils;
+import com.scottlogic.deg.output.OutputPath;
+import com.scottlogic.deg.output.manifest.ShardManifestWriter;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+
+/**
+ * Writes a single dataset as numbered files in the output directory, alongside a manifest of row counts.
+ */
+public class ShardedOutputTarget implements SingleDatasetOutputTarget {
+    private final Path directoryPath;
+    private final Sharding sharding;
+    private final OutputTargetFactory outputTargetFactory;
+    private final ShardManifestWriter manifestWriter;
+    private final boolean canOverwriteExistingFiles;
+    private final FileUtils fileUtils;
+
+    @Inject
+    public ShardedOutputTarget(
+        OutputPath directoryPath,
+        Sharding sharding,
+        OutputTargetFactory outputTargetFactory,
+        ShardManifestWriter manifestWriter,
+        @Named("config:canOverwriteOutputFiles") boolean canOverwriteExistingFiles,
+        FileUtils fileUtils) {
+        this.directoryPath = directoryPath.getPath();
+        this.sharding = sharding;
+        this.outputTargetFactory = outputTargetFactory;
+        this.manifestWriter = manifestWriter;
+        this.canOverwriteExistingFiles = canOverwriteExistingFiles;
+        this.fileUtils = fileUtils;
+    }
+
+    @Override
+    public DataSetWriter openWriter(ProfileFields fields) throws IOException {
+        DecimalFormat intFormatter = sharding.getShardCount() > 0
+            ? FileUtils.getDecimalFormat(sharding.getShardCount())
+            : new DecimalFormat("00000");
+
+        return ShardedDataSetWriter.open(
+            sharding,
+            index -> outputTargetFactory.create(intFormatter.format(index + 1)).openWriter(fields),
+            index -> outputTargetFactory.getFilename(intFormatter.format(index + 1)),
+            manifestWriter::writeManifest);
+    }
+
+    @Override
+    public void validate() throws OutputTargetValidationException, IOException {
+        if (directoryPath == null) {
+            throw new OutputTargetValidationException(
+                "sharded output needs an output directory; please specify one with the --output option");
+        }
+        if (!fileUtils.exists(directoryPath)) {
+            fileUtils.createDirectories(directoryPath);
+        } else if (!fileUtils.isDirectory(directoryPath)) {
+            throw new OutputTargetValidationException(
+                "not a directory, please enter a valid directory name");
+        } else if (!canOverwriteExistingFiles && fileUtils.exists(directoryPath.resolve("manifest.json"))) {
+            throw new OutputTargetValidationException(
+                "directory not empty, please remove any 'manifest.json' and shard files or use the --replace option");
+        }
+    }
+}
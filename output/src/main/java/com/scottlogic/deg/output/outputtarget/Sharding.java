@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+/** How generated data is split across files: into a fixed number of files, or a fixed number of rows per file. */
+public class Sharding {
+    private static final Sharding NONE = new Sharding(0, 0);
+
+    private final int shardCount;
+    private final long rowsPerShard;
+
+    private Sharding(int shardCount, long rowsPerShard) {
+        this.shardCount = shardCount;
+        this.rowsPerShard = rowsPerShard;
+    }
+
+    public static Sharding none() {
+        return NONE;
+    }
+
+    /** Rows are dealt out across all of the shards in turn, so they can be written in parallel */
+    public static Sharding intoShards(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        return new Sharding(shardCount, 0);
+    }
+
+    /** A new shard is started whenever the current one is full */
+    public static Sharding rowsPerShard(long rowsPerShard) {
+        if (rowsPerShard < 1) {
+            throw new IllegalArgumentException("Rows per shard must be positive");
+        }
+        return new Sharding(0, rowsPerShard);
+    }
+
+    public boolean isEnabled() {
+        return shardCount > 0 || rowsPerShard > 0;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public long getRowsPerShard() {
+        return rowsPerShard;
+    }
+}
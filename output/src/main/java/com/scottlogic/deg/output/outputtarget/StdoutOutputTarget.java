@@ -16,23 +16,43 @@
 
 package com.scottlogic.deg.output.outputtarget;
 
+import com.google.common.io.CountingOutputStream;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.output.writer.DataSetWriter;
 import com.scottlogic.deg.output.writer.OutputWriterFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 
 public class StdoutOutputTarget implements SingleDatasetOutputTarget{
     private final OutputWriterFactory formattingWriterFactory;
+    private final int bufferSize;
+    private final OutputCompression compression;
+    private final GenerationMetrics metrics;
 
     @Inject
-    public StdoutOutputTarget(OutputWriterFactory formattingWriterFactory) {
+    public StdoutOutputTarget(
+        OutputWriterFactory formattingWriterFactory,
+        @Named("config:outputBufferSize") int bufferSize,
+        OutputCompression compression,
+        GenerationMetrics metrics) {
         this.formattingWriterFactory = formattingWriterFactory;
+        this.bufferSize = bufferSize;
+        this.compression = compression;
+        this.metrics = metrics;
     }
 
     @Override
     public DataSetWriter openWriter(ProfileFields fields) throws IOException {
-        return formattingWriterFactory.createWriter(System.out, fields);
+        CountingOutputStream countingStream = new CountingOutputStream(System.out);
+        metrics.addBytesWrittenCounter(countingStream::getCount);
+
+        // System.out flushes on every write, so buffer in front of it to write in large chunks
+        return formattingWriterFactory.createWriter(
+            compression.compress(new BufferedOutputStream(countingStream, bufferSize)),
+            fields);
     }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import com.scottlogic.deg.output.guice.OutputFormat;
+
+import java.nio.file.Path;
+
+/** An extra file that receives a copy of the generated data in its own format */
+public class TeeOutput {
+    private final OutputFormat format;
+    private final Path path;
+
+    public TeeOutput(OutputFormat format, Path path) {
+        this.format = format;
+        this.path = path;
+    }
+
+    public OutputFormat getFormat() {
+        return format;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+import com.scottlogic.deg.output.writer.TeeDataSetWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TeeOutputTarget implements SingleDatasetOutputTarget {
+    private final List<SingleDatasetOutputTarget> targets;
+
+    public TeeOutputTarget(List<SingleDatasetOutputTarget> targets) {
+        this.targets = targets;
+    }
+
+    @Override
+    public DataSetWriter openWriter(ProfileFields fields) throws IOException {
+        List<DataSetWriter> writers = new ArrayList<>();
+        try {
+            for (SingleDatasetOutputTarget target : targets) {
+                writers.add(target.openWriter(fields));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (DataSetWriter writer : writers) {
+                try {
+                    writer.close();
+                } catch (IOException | RuntimeException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            throw e;
+        }
+        return new TeeDataSetWriter(fields, writers);
+    }
+
+    @Override
+    public void validate() throws OutputTargetValidationException, IOException {
+        for (SingleDatasetOutputTarget target : targets) {
+            target.validate();
+        }
+    }
+}
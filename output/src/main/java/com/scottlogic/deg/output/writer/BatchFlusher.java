@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a FlushPolicy to a single output, counting the rows and bytes written since it was last flushed.
+ */
+public class BatchFlusher {
+    private final Flushable target;
+    private final long maxRows;
+    private final long maxBytes;
+    private final long maxNanos;
+    private final boolean enabled;
+
+    private long rowsSinceFlush;
+    private long bytesSinceFlush;
+    private long lastFlushNanos;
+
+    public BatchFlusher(FlushPolicy policy, Flushable target) {
+        this.target = target;
+        this.maxRows = policy.getRows();
+        this.maxBytes = policy.getBytes();
+        this.maxNanos = TimeUnit.MILLISECONDS.toNanos(policy.getMillis());
+        this.enabled = !policy.flushesOnlyOnClose();
+        this.lastFlushNanos = maxNanos > 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records that a row has been written, flushing the target if any threshold has been reached.
+     * @param bytes the size of the row, or 0 if the writer can't tell cheaply
+     */
+    public void rowWritten(long bytes) throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        rowsSinceFlush++;
+        bytesSinceFlush += bytes;
+
+        if ((maxRows > 0 && rowsSinceFlush >= maxRows)
+            || (maxBytes > 0 && bytesSinceFlush >= maxBytes)
+            || (maxNanos > 0 && System.nanoTime() - lastFlushNanos >= maxNanos)) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        target.flush();
+        rowsSinceFlush = 0;
+        bytesSinceFlush = 0;
+        if (maxNanos > 0) {
+            lastFlushNanos = System.nanoTime();
+        }
+    }
+}
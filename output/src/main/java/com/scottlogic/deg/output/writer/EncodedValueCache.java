@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Remembers the encoded form of each distinct string written to one column, so that columns drawn from a small set
+ * of values are only ever encoded a handful of times.
+ *
+ * Once a column has produced more distinct values than the cache will hold it is assumed to be high-cardinality and
+ * caching is switched off for it, rather than evicting and re-encoding on every row.
+ */
+public class EncodedValueCache<T> {
+    static final int MAX_DISTINCT_VALUES = 64;
+    static final int MAX_VALUE_LENGTH = 256;
+
+    private final Function<String, T> encoder;
+    private Map<String, T> encodedValues = new HashMap<>();
+
+    public EncodedValueCache(Function<String, T> encoder) {
+        this.encoder = encoder;
+    }
+
+    /** @return the encoded value, or null if it isn't worth caching and should be encoded directly */
+    public T get(String value) {
+        if (encodedValues == null || value.length() > MAX_VALUE_LENGTH) {
+            return null;
+        }
+
+        T encoded = encodedValues.get(value);
+        if (encoded != null) {
+            return encoded;
+        }
+        if (encodedValues.size() == MAX_DISTINCT_VALUES) {
+            encodedValues = null;
+            return null;
+        }
+
+        encoded = encoder.apply(value);
+        encodedValues.put(value, encoded);
+        return encoded;
+    }
+}
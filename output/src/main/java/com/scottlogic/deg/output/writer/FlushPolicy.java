@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+/**
+ * Decides how often a DataSetWriter pushes its buffered rows through to the underlying stream.
+ * A threshold of zero disables that trigger; with every trigger disabled output is only flushed when the buffer
+ * fills or the writer is closed.
+ */
+public class FlushPolicy {
+    public static final FlushPolicy ON_CLOSE = new FlushPolicy(0, 0, 0);
+
+    private final long rows;
+    private final long bytes;
+    private final long millis;
+
+    public FlushPolicy(long rows, long bytes, long millis) {
+        if (rows < 0 || bytes < 0 || millis < 0) {
+            throw new IllegalArgumentException("Flush thresholds must not be negative");
+        }
+        this.rows = rows;
+        this.bytes = bytes;
+        this.millis = millis;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public boolean flushesOnlyOnClose() {
+        return rows == 0 && bytes == 0 && millis == 0;
+    }
+}
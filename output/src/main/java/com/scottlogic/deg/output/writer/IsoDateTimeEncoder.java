@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Writes datetimes as UTF-8 in the same form as {@link java.time.format.DateTimeFormatter#ISO_OFFSET_DATE_TIME},
+ * straight into a writer's byte buffer.
+ *
+ * Rows often share a date, so the encoded date and the 'T' that follows it are kept and copied for as long as the
+ * date stays the same. An encoder belongs to a single writer and isn't thread-safe.
+ */
+public class IsoDateTimeEncoder {
+    /** The most bytes a single datetime can encode to */
+    public static final int MAX_LENGTH = 48;
+
+    private static final int DATE_PREFIX_LENGTH = 11;
+
+    private final byte[] datePrefix = new byte[DATE_PREFIX_LENGTH];
+    private int prefixYear = -1;
+    private int prefixMonth;
+    private int prefixDay;
+
+    /** @return the position after the last byte written */
+    public int encode(OffsetDateTime value, byte[] buffer, int position) {
+        position = writeDate(value, buffer, position);
+        position = writePadded(value.getHour(), 2, buffer, position);
+        buffer[position++] = ':';
+        position = writePadded(value.getMinute(), 2, buffer, position);
+        buffer[position++] = ':';
+        position = writePadded(value.getSecond(), 2, buffer, position);
+
+        int nano = value.getNano();
+        if (nano != 0) {
+            int fractionDigits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                fractionDigits--;
+            }
+            buffer[position++] = '.';
+            position = writePadded(nano, fractionDigits, buffer, position);
+        }
+
+        int offsetSeconds = value.getOffset().getTotalSeconds();
+        if (offsetSeconds == 0) {
+            buffer[position++] = 'Z';
+            return position;
+        }
+        buffer[position++] = (byte) (offsetSeconds < 0 ? '-' : '+');
+        int absoluteOffset = Math.abs(offsetSeconds);
+        position = writePadded(absoluteOffset / 3600, 2, buffer, position);
+        buffer[position++] = ':';
+        position = writePadded((absoluteOffset / 60) % 60, 2, buffer, position);
+        if (absoluteOffset % 60 != 0) {
+            buffer[position++] = ':';
+            position = writePadded(absoluteOffset % 60, 2, buffer, position);
+        }
+        return position;
+    }
+
+    private int writeDate(OffsetDateTime value, byte[] buffer, int position) {
+        int year = value.getYear();
+        int month = value.getMonthValue();
+        int day = value.getDayOfMonth();
+
+        if (year == prefixYear && month == prefixMonth && day == prefixDay) {
+            System.arraycopy(datePrefix, 0, buffer, position, DATE_PREFIX_LENGTH);
+            return position + DATE_PREFIX_LENGTH;
+        }
+
+        int start = position;
+        if (year > 9999) {
+            buffer[position++] = '+';
+        } else if (year < 0) {
+            buffer[position++] = '-';
+        }
+        int absoluteYear = Math.abs(year);
+        position = writePadded(absoluteYear, Math.max(4, digitCount(absoluteYear)), buffer, position);
+        buffer[position++] = '-';
+        position = writePadded(month, 2, buffer, position);
+        buffer[position++] = '-';
+        position = writePadded(day, 2, buffer, position);
+        buffer[position++] = 'T';
+
+        // only four digit years fit the fixed length prefix
+        if (position - start == DATE_PREFIX_LENGTH) {
+            System.arraycopy(buffer, start, datePrefix, 0, DATE_PREFIX_LENGTH);
+            prefixYear = year;
+            prefixMonth = month;
+            prefixDay = day;
+        }
+        return position;
+    }
+
+    private static int digitCount(int value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static int writePadded(int value, int width, byte[] buffer, int position) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + width;
+    }
+}
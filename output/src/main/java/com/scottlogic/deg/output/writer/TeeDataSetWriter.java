@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes every row to each of several writers, formatting the row's values only once.
+ */
+public class TeeDataSetWriter implements DataSetWriter {
+    private final Field[] fields;
+    private final List<DataSetWriter> writers;
+
+    public TeeDataSetWriter(ProfileFields fields, List<DataSetWriter> writers) {
+        this.fields = fields.asList().toArray(new Field[0]);
+        this.writers = writers;
+    }
+
+    @Override
+    public void writeRow(GeneratedObject row) throws IOException {
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            values[i] = row.getFormattedValue(fields[i]);
+        }
+
+        GeneratedObject formattedRow = new FormattedRow(fields, values);
+        for (DataSetWriter writer : writers) {
+            writer.writeRow(formattedRow);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (DataSetWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** An immutable snapshot of a row's formatted values, safe to hand to writers on other threads */
+    private static class FormattedRow implements GeneratedObject {
+        private final Field[] fields;
+        private final Object[] values;
+
+        FormattedRow(Field[] fields, Object[] values) {
+            this.fields = fields;
+            this.values = values;
+        }
+
+        @Override
+        public Object getFormattedValue(Field field) {
+            // writers ask for fields in profile order, so an identity scan finds them straight away
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] == field) {
+                    return values[i];
+                }
+            }
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].equals(field)) {
+                    return values[i];
+                }
+            }
+            throw new IllegalArgumentException("Row does not contain field " + field);
+        }
+    }
+}
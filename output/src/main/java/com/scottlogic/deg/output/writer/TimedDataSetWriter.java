@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import com.scottlogic.deg.common.metrics.StageTimer;
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
+
+import java.io.IOException;
+
+/**
+ * Times the rows written by a format's writer, on whichever thread that writer runs on. Formatting is timed for the
+ * same sample of rows, so rows that aren't sampled are passed straight through.
+ */
+class TimedDataSetWriter implements DataSetWriter {
+    private final DataSetWriter underlying;
+    private final StageTimer writingTimer;
+    private final StageTimer formattingTimer;
+
+    TimedDataSetWriter(DataSetWriter underlying, GenerationMetrics metrics) {
+        this.underlying = underlying;
+        this.writingTimer = metrics.stage(GenerationStage.WRITING);
+        this.formattingTimer = metrics.stage(GenerationStage.FORMATTING);
+    }
+
+    @Override
+    public void writeRow(GeneratedObject row) throws IOException {
+        formattingTimer.count();
+        if (!writingTimer.sample()) {
+            underlying.writeRow(row);
+            return;
+        }
+
+        FormattingTimedRow timedRow = new FormattingTimedRow(row);
+        long start = System.nanoTime();
+        underlying.writeRow(timedRow);
+        writingTimer.record(System.nanoTime() - start);
+        formattingTimer.record(timedRow.formattingNanos);
+    }
+
+    @Override
+    public void close() throws IOException {
+        underlying.close();
+    }
+
+    private static class FormattingTimedRow implements GeneratedObject {
+        private final GeneratedObject row;
+        private long formattingNanos;
+
+        FormattingTimedRow(GeneratedObject row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object getFormattedValue(Field field) {
+            long start = System.nanoTime();
+            Object value = row.getFormattedValue(field);
+            formattingNanos += System.nanoTime() - start;
+            return value;
+        }
+    }
+}
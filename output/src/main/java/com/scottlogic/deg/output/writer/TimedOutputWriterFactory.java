@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.profile.ProfileFields;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/** Wraps the writers of a format so that the time they take to format and write rows is recorded in the metrics */
+public class TimedOutputWriterFactory implements OutputWriterFactory {
+    private final OutputWriterFactory underlyingFactory;
+    private final GenerationMetrics metrics;
+
+    public TimedOutputWriterFactory(OutputWriterFactory underlyingFactory, GenerationMetrics metrics) {
+        this.underlyingFactory = underlyingFactory;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public DataSetWriter createWriter(OutputStream stream, ProfileFields profileFields) throws IOException {
+        return new TimedDataSetWriter(underlyingFactory.createWriter(stream, profileFields), metrics);
+    }
+
+    @Override
+    public Optional<String> getFileExtensionWithoutDot() {
+        return underlyingFactory.getFileExtensionWithoutDot();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer.async;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Hands rows to a dedicated thread which writes them to the wrapped DataSetWriter, so that generation doesn't stall
+ * on slow output and formatting doesn't run on the generation thread.
+ *
+ * Rows are passed over in batches through a bounded queue; when it is full the generating thread blocks, and when it
+ * is empty the writer thread does. Any failure on the writer thread is rethrown from the next call to writeRow or close.
+ */
+class AsyncDataSetWriter implements DataSetWriter {
+    // handed over by close, after the last batch of rows
+    private static final GeneratedObject[] END_OF_ROWS = new GeneratedObject[0];
+
+    private final DataSetWriter delegate;
+    private final BlockingQueue<GeneratedObject[]> batches;
+    private final WriterBackpressure backpressure;
+    private final Thread writerThread;
+
+    private GeneratedObject[] batch;
+    private int batchCount;
+
+    private volatile Throwable failure;
+
+    AsyncDataSetWriter(DataSetWriter delegate, int batchSize, int capacityInBatches, WriterBackpressure backpressure) {
+        this.delegate = delegate;
+        this.batches = new ArrayBlockingQueue<>(capacityInBatches);
+        this.backpressure = backpressure;
+        this.batch = new GeneratedObject[batchSize];
+
+        this.writerThread = new Thread(this::writeBatches, "datahelix-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void writeRow(GeneratedObject row) throws IOException {
+        batch[batchCount++] = row;
+        if (batchCount == batch.length) {
+            handOver(batch);
+            batch = new GeneratedObject[batch.length];
+            batchCount = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (failure == null && batchCount > 0) {
+                handOver(Arrays.copyOf(batch, batchCount));
+            }
+        } finally {
+            batch = null;
+            finishWriterThread();
+        }
+
+        rethrowFailure();
+    }
+
+    private void handOver(GeneratedObject[] rows) throws IOException {
+        rethrowFailure();
+        if (batches.offer(rows)) {
+            return;
+        }
+
+        long startedWaiting = System.nanoTime();
+        try {
+            batches.put(rows);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the output writer");
+        }
+        backpressure.producerStalled(System.nanoTime() - startedWaiting);
+    }
+
+    private void writeBatches() {
+        boolean reachedEnd = false;
+        try {
+            GeneratedObject[] rows;
+            while ((rows = takeBatch()) != END_OF_ROWS) {
+                for (GeneratedObject row : rows) {
+                    delegate.writeRow(row);
+                }
+                backpressure.batchWritten();
+            }
+            reachedEnd = true;
+        } catch (InterruptedException e) {
+            failure = e;
+            reachedEnd = true;
+        } catch (Throwable e) {
+            failure = e;
+        }
+
+        try {
+            delegate.close();
+        } catch (Throwable e) {
+            if (failure == null) {
+                failure = e;
+            } else {
+                failure.addSuppressed(e);
+            }
+        }
+
+        // keeps taking batches after a failure so that generation never blocks on a full queue before it sees it
+        if (!reachedEnd) {
+            discardBatches();
+        }
+    }
+
+    private GeneratedObject[] takeBatch() throws InterruptedException {
+        GeneratedObject[] rows = batches.poll();
+        if (rows != null) {
+            return rows;
+        }
+
+        long startedWaiting = System.nanoTime();
+        rows = batches.take();
+        backpressure.writerIdled(System.nanoTime() - startedWaiting);
+        return rows;
+    }
+
+    private void discardBatches() {
+        try {
+            while (batches.take() != END_OF_ROWS) {
+                // the rows can't be written
+            }
+        } catch (InterruptedException e) {
+            // close has given up waiting for this thread
+        }
+    }
+
+    private void finishWriterThread() throws InterruptedIOException {
+        try {
+            batches.put(END_OF_ROWS);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            writerThread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the output writer to finish");
+        }
+    }
+
+    private void rethrowFailure() throws IOException {
+        Throwable cause = failure;
+        if (cause == null) {
+            return;
+        }
+        if (cause instanceof IOException) {
+            throw new IOException("Failed to write output: " + cause.getMessage(), cause);
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new IOException(cause);
+    }
+}
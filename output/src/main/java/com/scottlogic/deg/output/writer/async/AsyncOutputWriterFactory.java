@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer.async;
+
+import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+import com.scottlogic.deg.output.writer.OutputWriterFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/** Wraps the writers of another format so that they write on their own thread. */
+public class AsyncOutputWriterFactory implements OutputWriterFactory {
+    private static final int BATCH_SIZE = 256;
+    private static final int CAPACITY_IN_BATCHES = 64;
+
+    private final OutputWriterFactory underlyingFactory;
+    private final WriterBackpressure backpressure;
+
+    public AsyncOutputWriterFactory(OutputWriterFactory underlyingFactory, WriterBackpressure backpressure) {
+        this.underlyingFactory = underlyingFactory;
+        this.backpressure = backpressure;
+    }
+
+    @Override
+    public DataSetWriter createWriter(OutputStream stream, ProfileFields profileFields) throws IOException {
+        return new AsyncDataSetWriter(
+            underlyingFactory.createWriter(stream, profileFields),
+            BATCH_SIZE,
+            CAPACITY_IN_BATCHES,
+            backpressure);
+    }
+
+    @Override
+    public Optional<String> getFileExtensionWithoutDot() {
+        return underlyingFactory.getFileExtensionWithoutDot();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer.async;
+
+import com.google.inject.Singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how often generation had to wait for the asynchronous writer, and vice versa.
+ */
+@Singleton
+public class WriterBackpressure {
+    private final AtomicLong batchesWritten = new AtomicLong();
+    private final AtomicLong producerStalls = new AtomicLong();
+    private final AtomicLong producerStallNanos = new AtomicLong();
+    private final AtomicLong writerIdleNanos = new AtomicLong();
+
+    void batchWritten() {
+        batchesWritten.incrementAndGet();
+    }
+
+    void producerStalled(long nanos) {
+        producerStalls.incrementAndGet();
+        producerStallNanos.addAndGet(nanos);
+    }
+
+    void writerIdled(long nanos) {
+        writerIdleNanos.addAndGet(nanos);
+    }
+
+    public long getBatchesWritten() {
+        return batchesWritten.get();
+    }
+
+    /** @return the number of times generation found the buffer full and had to wait for the writer */
+    public long getProducerStalls() {
+        return producerStalls.get();
+    }
+
+    public long getProducerStallMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(producerStallNanos.get());
+    }
+
+    /** @return how long the writer thread spent waiting for generation to hand it rows */
+    public long getWriterIdleMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(writerIdleNanos.get());
+    }
+
+    public boolean isEmpty() {
+        return batchesWritten.get() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Asynchronous writer: %d batches written, generation waited %d times (%d ms), writer idle %d ms",
+            getBatchesWritten(),
+            getProducerStalls(),
+            getProducerStallMillis(),
+            getWriterIdleMillis());
+    }
+}
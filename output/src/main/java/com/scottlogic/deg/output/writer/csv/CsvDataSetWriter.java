@@ -16,81 +16,71 @@
 
 package com.scottlogic.deg.output.writer.csv;
 
-import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.output.writer.BatchFlusher;
 import com.scottlogic.deg.output.writer.DataSetWriter;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
-import org.apache.commons.csv.QuoteMode;
+import com.scottlogic.deg.output.writer.EncodedValueCache;
+import com.scottlogic.deg.output.writer.FlushPolicy;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.stream.Collectors;
 
 class CsvDataSetWriter implements DataSetWriter {
-    private static final DateTimeFormatter standardDateFormat = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-    private static final CSVFormat writerFormat = CSVFormat.RFC4180;
-    private static final CSVFormat csvStringFormatter = writerFormat.withQuoteMode(QuoteMode.ALL);
-
-    private final CSVPrinter csvPrinter;
-    private final ProfileFields fieldOrder;
-
-    private CsvDataSetWriter(CSVPrinter csvPrinter, ProfileFields fieldOrder) {
-        this.csvPrinter = csvPrinter;
-        this.fieldOrder = fieldOrder;
+    private final CsvEncoder encoder;
+    private final Field[] fieldOrder;
+    private final EncodedValueCache<byte[]>[] encodedValues;
+    private final BatchFlusher flusher;
+
+    private CsvDataSetWriter(CsvEncoder encoder, ProfileFields fieldOrder, FlushPolicy flushPolicy) {
+        this.encoder = encoder;
+        this.fieldOrder = fieldOrder.stream().toArray(Field[]::new);
+        this.encodedValues = fieldOrder.stream()
+            .map(field -> new EncodedValueCache<>(CsvEncoder::encode))
+            .toArray(EncodedValueCache[]::new);
+        this.flusher = new BatchFlusher(flushPolicy, encoder);
     }
 
-    static DataSetWriter open(OutputStream stream, ProfileFields fields) throws IOException {
-        final Appendable outputStreamAsAppendable = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+    static DataSetWriter open(
+        OutputStream stream,
+        ProfileFields fields,
+        FlushPolicy flushPolicy,
+        int bufferSize) throws IOException {
+        CsvEncoder encoder = new CsvEncoder(stream, bufferSize);
 
-        CSVPrinter csvPrinter = writerFormat
-            .withEscape('\0') //Dont escape any character, we're formatting strings ourselves
-            .withQuoteMode(QuoteMode.NONE)
-            .withHeader(fields.stream()
-                .map(f -> f.name)
-                .toArray(String[]::new))
-            .print(outputStreamAsAppendable);
+        for (Field field : fields) {
+            encoder.writeUnquoted(field.name);
+        }
+        encoder.endRecord();
 
-        return new CsvDataSetWriter(csvPrinter, fields);
+        return new CsvDataSetWriter(encoder, fields, flushPolicy);
     }
 
     @Override
     public void writeRow(GeneratedObject row) throws IOException {
-        csvPrinter.printRecord(fieldOrder.stream()
-                .map(row::getFormattedValue)
-                .map(CsvDataSetWriter::wrapInQuotesIfString)
-                .collect(Collectors.toList()));
-
-        csvPrinter.flush();
-    }
-
-    @Override
-    public void close() throws IOException {
-        csvPrinter.close();
-    }
-
-    private static Object wrapInQuotesIfString(Object value){
-        if (value == null){
-            return null;
+        long bytesBefore = encoder.bytesWritten();
+        for (int i = 0; i < fieldOrder.length; i++) {
+            writeValue(i, row.getFormattedValue(fieldOrder[i]));
         }
+        encoder.endRecord();
 
-        if (value instanceof BigDecimal) {
-            return ((BigDecimal) value).toPlainString();
-        }
-
-        if (value instanceof OffsetDateTime){
-            return standardDateFormat.format((OffsetDateTime) value);
-        }
+        flusher.rowWritten(encoder.bytesWritten() - bytesBefore);
+    }
 
-        if (value instanceof String){
-            return csvStringFormatter.format(value);
+    private void writeValue(int column, Object value) throws IOException {
+        if (value instanceof String) {
+            byte[] encoded = encodedValues[column].get((String) value);
+            if (encoded != null) {
+                encoder.writeEncoded(encoded);
+                return;
+            }
         }
+        encoder.writeValue(value);
+    }
 
-        return value;
+    @Override
+    public void close() throws IOException {
+        encoder.close();
     }
 }
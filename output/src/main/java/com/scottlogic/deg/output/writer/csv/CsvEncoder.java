@@ -0,0 +1,322 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer.csv;
+
+import com.scottlogic.deg.output.writer.IsoDateTimeEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.OffsetDateTime;
+
+/**
+ * Encodes CSV records as UTF-8 straight into a reusable byte buffer, which is written to the stream when full.
+ *
+ * The output matches the commons-csv configuration this replaced: RFC4180 delimiters and record separators, strings
+ * always quoted with embedded quotes doubled, and any delimiter, line break or NUL within a value escaped with a NUL
+ * character.
+ */
+class CsvEncoder implements Flushable, Closeable {
+    private static final byte DELIMITER = ',';
+    private static final byte QUOTE = '"';
+    private static final byte ESCAPE = 0;
+    private static final int MAX_BYTES_PER_CHAR = 4;
+
+    private final OutputStream stream;
+    private final byte[] buffer;
+    private final byte[] digits = new byte[20];
+    private final IsoDateTimeEncoder dateTimeEncoder = new IsoDateTimeEncoder();
+    private int position;
+    private long bytesDrained;
+    private boolean startOfRecord = true;
+
+    CsvEncoder(OutputStream stream, int bufferSize) {
+        this.stream = stream;
+        this.buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    void writeValue(Object value) throws IOException {
+        startValue();
+
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String) {
+            writeString((String) value, true);
+        } else if (value instanceof BigDecimal) {
+            writeBigDecimal((BigDecimal) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof OffsetDateTime) {
+            writeDateTime((OffsetDateTime) value);
+        } else {
+            writeString(value.toString(), false);
+        }
+    }
+
+    /** Writes a value previously encoded with {@link #encode(Object)}. */
+    void writeEncoded(byte[] encoded) throws IOException {
+        startValue();
+
+        if (encoded.length > buffer.length - position) {
+            drain();
+            if (encoded.length > buffer.length) {
+                stream.write(encoded);
+                bytesDrained += encoded.length;
+                return;
+            }
+        }
+        System.arraycopy(encoded, 0, buffer, position, encoded.length);
+        position += encoded.length;
+    }
+
+    /** @return the bytes {@link #writeValue(Object)} would write for this value, ready to be reused */
+    static byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CsvEncoder encoder = new CsvEncoder(bytes, 64)) {
+            encoder.writeValue(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Writes a value as-is, without quoting, as is done for header names. */
+    void writeUnquoted(String value) throws IOException {
+        startValue();
+        writeString(value, false);
+    }
+
+    void endRecord() throws IOException {
+        ensureCapacity(2);
+        buffer[position++] = '\r';
+        buffer[position++] = '\n';
+        startOfRecord = true;
+    }
+
+    long bytesWritten() {
+        return bytesDrained + position;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        stream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            stream.close();
+        }
+    }
+
+    private void startValue() throws IOException {
+        if (startOfRecord) {
+            startOfRecord = false;
+            return;
+        }
+        ensureCapacity(1);
+        buffer[position++] = DELIMITER;
+    }
+
+    private void writeString(String value, boolean quoted) throws IOException {
+        int length = value.length();
+        if (quoted) {
+            ensureCapacity(1);
+            buffer[position++] = QUOTE;
+        }
+
+        int index = 0;
+        while (index < length) {
+            if (buffer.length - position < 2 * MAX_BYTES_PER_CHAR) {
+                drain();
+            }
+
+            // copy runs of plain ASCII without further checks
+            int limit = Math.min(length, index + (buffer.length - position) / 2);
+            char c = 0;
+            while (index < limit && (c = value.charAt(index)) < 0x80 && !isSpecial(c)) {
+                buffer[position++] = (byte) c;
+                index++;
+            }
+            if (index == limit) {
+                continue;
+            }
+
+            index = writeSpecial(value, index, c, quoted);
+        }
+
+        if (quoted) {
+            ensureCapacity(1);
+            buffer[position++] = QUOTE;
+        }
+    }
+
+    private static boolean isSpecial(char c) {
+        return c == DELIMITER || c == QUOTE || c == '\r' || c == '\n' || c == ESCAPE;
+    }
+
+    /** @return the index of the next character to write */
+    private int writeSpecial(String value, int index, char c, boolean quoted) {
+        switch (c) {
+            case '"':
+                buffer[position++] = QUOTE;
+                if (quoted) {
+                    buffer[position++] = QUOTE;
+                }
+                return index + 1;
+            case ',':
+            case ESCAPE:
+                buffer[position++] = ESCAPE;
+                buffer[position++] = (byte) c;
+                return index + 1;
+            case '\r':
+                buffer[position++] = ESCAPE;
+                buffer[position++] = 'r';
+                return index + 1;
+            case '\n':
+                buffer[position++] = ESCAPE;
+                buffer[position++] = 'n';
+                return index + 1;
+        }
+
+        if (c < 0x800) {
+            buffer[position++] = (byte) (0xc0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            return index + 1;
+        }
+
+        if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c)
+                && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+                buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+                return index + 2;
+            }
+
+            // unpaired surrogates can't be encoded; OutputStreamWriter substitutes them in the same way
+            buffer[position++] = '?';
+            return index + 1;
+        }
+
+        buffer[position++] = (byte) (0xe0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+        return index + 1;
+    }
+
+    private void writeBigDecimal(BigDecimal value) throws IOException {
+        BigInteger unscaled = value.unscaledValue();
+        int scale = value.scale();
+        if (scale < 0 || unscaled.bitLength() > 62) {
+            writeString(value.toPlainString(), false);
+            return;
+        }
+
+        long unscaledLong = unscaled.longValue();
+        int start = fillDigits(Math.abs(unscaledLong));
+        int digitCount = digits.length - start;
+
+        // sign, leading zero and point, plus padding zeros for small values, may not fit even an empty buffer
+        if (scale > buffer.length - digitCount - 3) {
+            writeString(value.toPlainString(), false);
+            return;
+        }
+
+        ensureCapacity(digitCount + scale + 3);
+        if (unscaledLong < 0) {
+            buffer[position++] = '-';
+        }
+
+        if (scale == 0) {
+            position = copyDigits(start, digitCount);
+        } else if (digitCount <= scale) {
+            buffer[position++] = '0';
+            buffer[position++] = '.';
+            for (int i = digitCount; i < scale; i++) {
+                buffer[position++] = '0';
+            }
+            position = copyDigits(start, digitCount);
+        } else {
+            int integerDigits = digitCount - scale;
+            position = copyDigits(start, integerDigits);
+            buffer[position++] = '.';
+            position = copyDigits(start + integerDigits, scale);
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeString(Long.toString(value), false);
+            return;
+        }
+
+        int start = fillDigits(Math.abs(value));
+        ensureCapacity(digits.length - start + 1);
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        position = copyDigits(start, digits.length - start);
+    }
+
+    private void writeDateTime(OffsetDateTime value) throws IOException {
+        ensureCapacity(IsoDateTimeEncoder.MAX_LENGTH);
+        position = dateTimeEncoder.encode(value, buffer, position);
+    }
+
+    /** Writes the decimal digits of a non-negative value into the end of the digits array, returning where they start */
+    private int fillDigits(long value) {
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        return start;
+    }
+
+    private int copyDigits(int from, int count) {
+        System.arraycopy(digits, from, buffer, position, count);
+        return position + count;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        stream.write(buffer, 0, position);
+        bytesDrained += position;
+        position = 0;
+    }
+}
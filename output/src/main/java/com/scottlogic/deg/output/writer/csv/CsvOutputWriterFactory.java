@@ -16,18 +16,30 @@
 
 package com.scottlogic.deg.output.writer.csv;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.output.writer.DataSetWriter;
+import com.scottlogic.deg.output.writer.FlushPolicy;
 import com.scottlogic.deg.output.writer.OutputWriterFactory;
 
 import java.io.IOException;
-    import java.io.OutputStream;
-    import java.util.Optional;
+import java.io.OutputStream;
+import java.util.Optional;
 
 public class CsvOutputWriterFactory implements OutputWriterFactory {
+    private final FlushPolicy flushPolicy;
+    private final int bufferSize;
+
+    @Inject
+    public CsvOutputWriterFactory(FlushPolicy flushPolicy, @Named("config:outputBufferSize") int bufferSize) {
+        this.flushPolicy = flushPolicy;
+        this.bufferSize = bufferSize;
+    }
+
     @Override
     public DataSetWriter createWriter(OutputStream stream, ProfileFields profileFields) throws IOException {
-        return CsvDataSetWriter.open(stream, profileFields);
+        return CsvDataSetWriter.open(stream, profileFields, flushPolicy, bufferSize);
     }
 
     @Override
@@ -16,59 +16,119 @@
 
 package com.scottlogic.deg.output.writer.json;
 
-import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.google.common.io.CountingOutputStream;
 import com.scottlogic.deg.common.output.GeneratedObject;
 import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.ProfileFields;
+import com.scottlogic.deg.output.writer.BatchFlusher;
 import com.scottlogic.deg.output.writer.DataSetWriter;
+import com.scottlogic.deg.output.writer.EncodedValueCache;
+import com.scottlogic.deg.output.writer.FlushPolicy;
+import com.scottlogic.deg.output.writer.IsoDateTimeEncoder;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
 
+/**
+ * Streams each row as a JSON object with its fields in profile order, either as a sequence of root values or as
+ * the elements of a single array.
+ */
 class JsonDataSetWriter implements DataSetWriter {
+    private final JsonGenerator generator;
+    private final CountingOutputStream countingStream;
+    private final Field[] fields;
+    private final SerializableString[] fieldNames;
+    private final EncodedValueCache<SerializableString>[] encodedValues;
+    private final boolean wrapInArray;
+    private final BatchFlusher flusher;
+    private final IsoDateTimeEncoder dateTimeEncoder = new IsoDateTimeEncoder();
+    private final byte[] dateTimeBuffer = new byte[IsoDateTimeEncoder.MAX_LENGTH];
 
-    private static final DateTimeFormatter standardDateFormat = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-
-    private final SequenceWriter writer;
-    private final ProfileFields fields;
+    private JsonDataSetWriter(
+        JsonGenerator generator,
+        CountingOutputStream countingStream,
+        ProfileFields fields,
+        boolean wrapInArray,
+        FlushPolicy flushPolicy) {
+        this.generator = generator;
+        this.countingStream = countingStream;
+        this.fields = fields.stream().toArray(Field[]::new);
+        this.fieldNames = fields.stream()
+            .map(field -> new SerializedString(field.name))
+            .toArray(SerializableString[]::new);
+        this.encodedValues = fields.stream()
+            .map(field -> new EncodedValueCache<SerializableString>(SerializedString::new))
+            .toArray(EncodedValueCache[]::new);
+        this.wrapInArray = wrapInArray;
+        this.flusher = new BatchFlusher(flushPolicy, generator);
+    }
 
-    JsonDataSetWriter(SequenceWriter writer, ProfileFields fields) {
-        this.writer = writer;
-        this.fields = fields;
+    static DataSetWriter open(
+        JsonGenerator generator,
+        CountingOutputStream countingStream,
+        ProfileFields fields,
+        boolean wrapInArray,
+        FlushPolicy flushPolicy) throws IOException {
+        if (wrapInArray) {
+            generator.writeStartArray();
+        }
+        return new JsonDataSetWriter(generator, countingStream, fields, wrapInArray, flushPolicy);
     }
 
     @Override
     public void writeRow(GeneratedObject row) throws IOException {
-        Map<Field, Object> jsonObject = new HashMap<>();
-        fields.forEach(field -> jsonObject
-            .put(field, convertValue(row.getFormattedValue(field))));
+        long bytesBefore = bytesWritten();
 
-        writer.write(jsonObject);
+        generator.writeStartObject();
+        for (int i = 0; i < fields.length; i++) {
+            generator.writeFieldName(fieldNames[i]);
+            writeValue(i, row.getFormattedValue(fields[i]));
+        }
+        generator.writeEndObject();
+
+        flusher.rowWritten(bytesWritten() - bytesBefore);
     }
 
     @Override
     public void close() throws IOException {
-        writer.close();
+        try {
+            if (wrapInArray) {
+                generator.writeEndArray();
+            }
+        } finally {
+            generator.close();
+        }
     }
 
+    private long bytesWritten() {
+        return countingStream.getCount() + generator.getOutputBuffered();
+    }
 
-    private static Object convertValue(Object value) {
+    private void writeValue(int field, Object value) throws IOException {
         if (value == null) {
-            return null;
+            generator.writeNull();
         } else if (value instanceof BigDecimal) {
-            return value;
+            generator.writeNumber((BigDecimal) value);
         } else if (value instanceof Integer) {
-            return value;
+            generator.writeNumber((Integer) value);
         } else if (value instanceof String) {
-            return value;
+            // SerializedString keeps its quoted UTF-8 form, so cached values are copied straight into the output
+            SerializableString encoded = encodedValues[field].get((String) value);
+            if (encoded != null) {
+                generator.writeString(encoded);
+            } else {
+                generator.writeString((String) value);
+            }
         } else if (value instanceof OffsetDateTime) {
-            return standardDateFormat.format((OffsetDateTime) value);
+            // the encoded datetime has nothing that needs escaping, so its bytes can be quoted as they are
+            int length = dateTimeEncoder.encode((OffsetDateTime) value, dateTimeBuffer, 0);
+            generator.writeRawUTF8String(dateTimeBuffer, 0, length);
         } else {
-            return value.toString();
+            generator.writeString(value.toString());
         }
     }
 }
@@ -16,14 +16,16 @@
 
 package com.scottlogic.deg.output.writer.json;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.SequenceWriter;
+import com.google.common.io.CountingOutputStream;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.output.writer.DataSetWriter;
+import com.scottlogic.deg.output.writer.FlushPolicy;
 import com.scottlogic.deg.output.writer.OutputWriterFactory;
 
 import java.io.IOException;
@@ -31,20 +33,23 @@ import java.io.OutputStream;
 import java.util.Optional;
 
 public class JsonOutputWriterFactory implements OutputWriterFactory {
+    private static final JsonFactory jsonFactory = new JsonFactory();
     private boolean useNdJson;
+    private final FlushPolicy flushPolicy;
     private static final String NEW_LINE_DELIMITER = "\n";
     @Inject
-    public JsonOutputWriterFactory(@Named("config:useNdJson") boolean useNdJson) {
+    public JsonOutputWriterFactory(@Named("config:useNdJson") boolean useNdJson, FlushPolicy flushPolicy) {
         this.useNdJson = useNdJson;
+        this.flushPolicy = flushPolicy;
     }
 
     @Override
     public DataSetWriter createWriter(OutputStream stream, ProfileFields profileFields) throws IOException {
-        ObjectWriter objectWriter = new ObjectMapper().writer(new DefaultPrettyPrinter(NEW_LINE_DELIMITER));
-        SequenceWriter writer = objectWriter.writeValues(stream);
-        writer.init(!useNdJson);
+        CountingOutputStream countingStream = new CountingOutputStream(stream);
+        JsonGenerator generator = jsonFactory.createGenerator(countingStream, JsonEncoding.UTF8);
+        generator.setPrettyPrinter(new DefaultPrettyPrinter(NEW_LINE_DELIMITER));
 
-        return new JsonDataSetWriter(writer, profileFields);
+        return JsonDataSetWriter.open(generator, countingStream, profileFields, !useNdJson, flushPolicy);
     }
 
     @Override
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.hamcrest.Matchers.equalTo;
+
+class FileStreamFactoryTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_withChannelOutput_writesAllBytes() throws IOException {
+        Path file = directory.resolve("out.csv");
+
+        writeTo(new FileStreamFactory(16, false, 0, OutputCompression.NONE, new GenerationMetrics()).open(file), content());
+
+        Assert.assertThat(Files.readAllBytes(file), equalTo(content()));
+    }
+
+    @Test
+    void open_withChannelOutputAndPreallocation_truncatesToBytesWritten() throws IOException {
+        Path file = directory.resolve("out.csv");
+
+        OutputStream stream = new FileStreamFactory(16, false, 1_000_000, OutputCompression.NONE, new GenerationMetrics()).open(file);
+        Assert.assertThat(Files.size(file), equalTo(1_000_000L));
+        writeTo(stream, content());
+
+        Assert.assertThat(Files.readAllBytes(file), equalTo(content()));
+    }
+
+    @Test
+    void open_withMemoryMappedOutput_truncatesToBytesWritten() throws IOException {
+        Path file = directory.resolve("out.csv");
+
+        writeTo(new FileStreamFactory(16, true, 0, OutputCompression.NONE, new GenerationMetrics()).open(file), content());
+
+        Assert.assertThat(Files.readAllBytes(file), equalTo(content()));
+    }
+
+    @Test
+    void open_whenFileExists_replacesContent() throws IOException {
+        Path file = directory.resolve("out.csv");
+        Files.write(file, new byte[10_000]);
+
+        writeTo(new FileStreamFactory(16, false, 0, OutputCompression.NONE, new GenerationMetrics()).open(file), content());
+
+        Assert.assertThat(Files.readAllBytes(file), equalTo(content()));
+    }
+
+    @Test
+    void open_countsBytesWrittenIntoMetrics() throws IOException {
+        Path file = directory.resolve("out.csv");
+        GenerationMetrics metrics = new GenerationMetrics();
+
+        writeTo(new FileStreamFactory(16, false, 0, OutputCompression.NONE, metrics).open(file), content());
+
+        Assert.assertThat(metrics.getBytesWritten(), equalTo((long) content().length));
+    }
+
+    @Test
+    void mappedOutputStream_whenWritesCrossRegions_mapsFurtherRegions() throws IOException {
+        Path file = directory.resolve("out.csv");
+        FileChannel channel = FileChannel.open(
+            file,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+
+        writeTo(new MappedOutputStream(channel, 7, 0), content());
+
+        Assert.assertThat(Files.readAllBytes(file), equalTo(content()));
+    }
+
+    @Test
+    void mappedOutputStream_withPreallocationBeyondMappableSize_truncatesToBytesWritten() throws IOException {
+        Path file = directory.resolve("out.csv");
+        FileChannel channel = FileChannel.open(
+            file,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.SPARSE);
+
+        OutputStream stream = new MappedOutputStream(channel, 7, 3L * 1024 * 1024 * 1024);
+        Assert.assertThat(Files.size(file), equalTo(3L * 1024 * 1024 * 1024));
+        writeTo(stream, content());
+
+        Assert.assertThat(Files.readAllBytes(file), equalTo(content()));
+    }
+
+    private static void writeTo(OutputStream stream, byte[] content) throws IOException {
+        try (OutputStream toClose = stream) {
+            toClose.write(content, 0, 5);
+            toClose.write(content[5]);
+            toClose.write(content, 6, 40);
+            toClose.write(content, 46, content.length - 46);
+        }
+    }
+
+    private static byte[] content() {
+        byte[] content = new byte[100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+        return content;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+class ParallelDeflateOutputStreamTests {
+    @Test
+    void close_withGzipContainer_producesValidGzipStream() throws IOException {
+        byte[] content = content(1_000_000);
+
+        byte[] compressed = compress(content, ParallelDeflateOutputStream.Container.GZIP);
+
+        Assert.assertThat(new GZIPInputStream(new ByteArrayInputStream(compressed)), decompressesTo(content));
+        Assert.assertThat(compressed.length, lessThan(content.length / 2));
+    }
+
+    @Test
+    void close_withZlibContainer_producesValidZlibStream() throws IOException {
+        byte[] content = content(1_000_000);
+
+        byte[] compressed = compress(content, ParallelDeflateOutputStream.Container.ZLIB);
+
+        Assert.assertThat(new InflaterInputStream(new ByteArrayInputStream(compressed)), decompressesTo(content));
+    }
+
+    @Test
+    void close_withNoContent_producesValidEmptyStream() throws IOException {
+        byte[] compressed = compress(new byte[0], ParallelDeflateOutputStream.Container.GZIP);
+
+        Assert.assertThat(new GZIPInputStream(new ByteArrayInputStream(compressed)), decompressesTo(new byte[0]));
+    }
+
+    @Test
+    void flush_partWayThroughBlock_producesValidStream() throws IOException {
+        byte[] content = content(200_000);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (ParallelDeflateOutputStream stream = new ParallelDeflateOutputStream(
+            compressed, ParallelDeflateOutputStream.Container.GZIP, 64 * 1024, 3)) {
+            stream.write(content, 0, 40_000);
+            stream.flush();
+            stream.write(content, 40_000, 1);
+            stream.flush();
+            stream.write(content, 40_001, content.length - 40_001);
+        }
+
+        Assert.assertThat(
+            new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())),
+            decompressesTo(content));
+    }
+
+    private static byte[] compress(byte[] content, ParallelDeflateOutputStream.Container container) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ParallelDeflateOutputStream stream = new ParallelDeflateOutputStream(compressed, container, 64 * 1024, 3)) {
+            int offset = 0;
+            while (offset < content.length) {
+                int length = Math.min(10_000, content.length - offset);
+                stream.write(content, offset, length);
+                offset += length;
+            }
+        }
+        return compressed.toByteArray();
+    }
+
+    private static Matcher<InputStream> decompressesTo(byte[] expected) {
+        return new TypeSafeDiagnosingMatcher<InputStream>() {
+            @Override
+            protected boolean matchesSafely(InputStream stream, Description mismatchDescription) {
+                try {
+                    ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = stream.read(buffer)) != -1) {
+                        decompressed.write(buffer, 0, read);
+                    }
+                    if (!Arrays.equals(decompressed.toByteArray(), expected)) {
+                        mismatchDescription.appendText("decompressed to " + decompressed.size() + " bytes of different content");
+                        return false;
+                    }
+                    return true;
+                } catch (IOException e) {
+                    mismatchDescription.appendText("failed to decompress: " + e);
+                    return false;
+                }
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("a stream decompressing to " + expected.length + " bytes of content");
+            }
+        };
+    }
+
+    /** Compressible content with some repetition across block boundaries */
+    private static byte[] content(int length) {
+        Random random = new Random(0);
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) ("abcdefgh,\n".charAt(random.nextInt(10)));
+        }
+        return content;
+    }
+}
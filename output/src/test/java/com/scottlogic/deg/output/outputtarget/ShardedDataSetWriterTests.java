@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.outputtarget;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.output.manifest.ShardManifestDTO;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class ShardedDataSetWriterTests {
+    private final List<RecordingWriter> shards = new ArrayList<>();
+    private List<ShardManifestDTO.ShardDTO> manifest;
+    private int shardsThatOpen = Integer.MAX_VALUE;
+
+    @Test
+    void writeRow_withFixedShardCount_dealsRowsAcrossShardsInTurn() throws IOException {
+        DataSetWriter writer = open(Sharding.intoShards(3));
+        writeRows(writer, 7);
+        writer.close();
+
+        Assert.assertThat(shards, hasSize(3));
+        Assert.assertThat(rowCounts(), contains(3, 2, 2));
+        Assert.assertThat(shards.stream().allMatch(shard -> shard.closed), is(true));
+        Assert.assertThat(manifest.stream().map(shard -> shard.rows).collect(Collectors.toList()), contains(3L, 2L, 2L));
+        Assert.assertThat(manifest.stream().map(shard -> shard.filePath).collect(Collectors.toList()), contains("1.csv", "2.csv", "3.csv"));
+    }
+
+    @Test
+    void writeRow_withRowsPerShard_startsNewShardWhenCurrentOneIsFull() throws IOException {
+        DataSetWriter writer = open(Sharding.rowsPerShard(3));
+        writeRows(writer, 7);
+
+        Assert.assertThat(shards, hasSize(3));
+        Assert.assertThat(shards.get(0).closed, is(true));
+        Assert.assertThat(shards.get(1).closed, is(true));
+        Assert.assertThat(shards.get(2).closed, is(false));
+
+        writer.close();
+
+        Assert.assertThat(rowCounts(), contains(3, 3, 1));
+        Assert.assertThat(shards.get(2).closed, is(true));
+        Assert.assertThat(manifest.stream().map(shard -> shard.rows).collect(Collectors.toList()), contains(3L, 3L, 1L));
+    }
+
+    @Test
+    void writeRow_withRowsPerShardAndExactlyFullShard_doesNotOpenEmptyShard() throws IOException {
+        DataSetWriter writer = open(Sharding.rowsPerShard(3));
+        writeRows(writer, 6);
+        writer.close();
+
+        Assert.assertThat(rowCounts(), contains(3, 3));
+    }
+
+    @Test
+    void close_whenShardFailsToClose_closesOtherShardsAndRethrows() throws IOException {
+        DataSetWriter writer = open(Sharding.intoShards(2));
+        shards.get(0).failOnClose = true;
+
+        assertThrows(IOException.class, writer::close);
+        Assert.assertThat(shards.get(1).closed, is(true));
+    }
+
+    @Test
+    void writeRow_whenNextShardFailsToOpen_closesFullShardOnlyOnce() throws IOException {
+        shardsThatOpen = 1;
+        DataSetWriter writer = open(Sharding.rowsPerShard(2));
+        writeRows(writer, 2);
+
+        assertThrows(IOException.class, () -> writeRows(writer, 1));
+        writer.close();
+
+        Assert.assertThat(shards, hasSize(1));
+        Assert.assertThat(shards.get(0).closeCount, equalTo(1));
+        Assert.assertThat(manifest.stream().map(shard -> shard.rows).collect(Collectors.toList()), contains(2L));
+    }
+
+    private DataSetWriter open(Sharding sharding) throws IOException {
+        return ShardedDataSetWriter.open(
+            sharding,
+            index -> {
+                if (shards.size() == shardsThatOpen) {
+                    throw new IOException("too many open files");
+                }
+                RecordingWriter shard = new RecordingWriter();
+                shards.add(shard);
+                return shard;
+            },
+            index -> (index + 1) + ".csv",
+            shardsWritten -> manifest = shardsWritten);
+    }
+
+    private static void writeRows(DataSetWriter writer, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writer.writeRow(mock(GeneratedObject.class));
+        }
+    }
+
+    private List<Integer> rowCounts() {
+        return shards.stream().map(shard -> shard.rows.size()).collect(Collectors.toList());
+    }
+
+    private static class RecordingWriter implements DataSetWriter {
+        final List<GeneratedObject> rows = new ArrayList<>();
+        boolean failOnClose;
+        boolean closed;
+        int closeCount;
+
+        @Override
+        public void writeRow(GeneratedObject row) {
+            rows.add(row);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            closeCount++;
+            if (failOnClose) {
+                throw new IOException("disk full");
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.equalTo;
+
+class BatchFlusherTests {
+    private int flushes;
+    private final Flushable target = () -> flushes++;
+
+    @Test
+    void rowWritten_withOnClosePolicy_neverFlushes() throws IOException {
+        BatchFlusher flusher = new BatchFlusher(FlushPolicy.ON_CLOSE, target);
+
+        for (int i = 0; i < 1000; i++) {
+            flusher.rowWritten(100);
+        }
+
+        Assert.assertThat(flushes, equalTo(0));
+    }
+
+    @Test
+    void rowWritten_withRowThreshold_flushesEveryNRows() throws IOException {
+        BatchFlusher flusher = new BatchFlusher(new FlushPolicy(10, 0, 0), target);
+
+        for (int i = 0; i < 35; i++) {
+            flusher.rowWritten(100);
+        }
+
+        Assert.assertThat(flushes, equalTo(3));
+    }
+
+    @Test
+    void rowWritten_withByteThreshold_flushesOnceThresholdReached() throws IOException {
+        BatchFlusher flusher = new BatchFlusher(new FlushPolicy(0, 250, 0), target);
+
+        for (int i = 0; i < 10; i++) {
+            flusher.rowWritten(100);
+        }
+
+        Assert.assertThat(flushes, equalTo(3));
+    }
+
+    @Test
+    void rowWritten_withTimeThreshold_flushesOnceIntervalHasPassed() throws IOException, InterruptedException {
+        BatchFlusher flusher = new BatchFlusher(new FlushPolicy(0, 0, 50), target);
+
+        flusher.rowWritten(0);
+        Thread.sleep(60);
+        flusher.rowWritten(0);
+
+        Assert.assertThat(flushes, equalTo(1));
+    }
+}
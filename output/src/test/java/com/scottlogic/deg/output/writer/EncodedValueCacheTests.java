@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+
+class EncodedValueCacheTests {
+    private final List<String> encoded = new ArrayList<>();
+    private final EncodedValueCache<String> cache = new EncodedValueCache<>(value -> {
+        encoded.add(value);
+        return "<" + value + ">";
+    });
+
+    @Test
+    void get_withRepeatedValue_encodesItOnce() {
+        Assert.assertThat(cache.get("a"), equalTo("<a>"));
+        Assert.assertThat(cache.get("b"), equalTo("<b>"));
+        Assert.assertThat(cache.get("a"), equalTo("<a>"));
+
+        Assert.assertThat(encoded, contains("a", "b"));
+    }
+
+    @Test
+    void get_withMoreDistinctValuesThanCacheHolds_stopsCaching() {
+        for (int i = 0; i < EncodedValueCache.MAX_DISTINCT_VALUES; i++) {
+            Assert.assertThat(cache.get("value " + i), notNullValue());
+        }
+
+        Assert.assertThat(cache.get("one too many"), nullValue());
+        Assert.assertThat(cache.get("value 0"), nullValue());
+        Assert.assertThat(encoded, hasSize(EncodedValueCache.MAX_DISTINCT_VALUES));
+    }
+
+    @Test
+    void get_withLongValue_doesNotCacheIt() {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i <= EncodedValueCache.MAX_VALUE_LENGTH; i++) {
+            longValue.append('x');
+        }
+
+        Assert.assertThat(cache.get(longValue.toString()), nullValue());
+        Assert.assertThat(cache.get("short"), equalTo("<short>"));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.equalTo;
+
+class IsoDateTimeEncoderTests {
+    private final IsoDateTimeEncoder encoder = new IsoDateTimeEncoder();
+
+    private static Stream<OffsetDateTime> values() {
+        return Stream.of(
+            OffsetDateTime.of(2001, 2, 3, 4, 5, 6, 0, ZoneOffset.UTC),
+            OffsetDateTime.of(2001, 2, 3, 4, 5, 6, 777_000_000, ZoneOffset.UTC),
+            OffsetDateTime.of(1, 1, 1, 0, 0, 0, 1, ZoneOffset.UTC),
+            OffsetDateTime.of(0, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+            OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999, ZoneOffset.UTC),
+            OffsetDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+            OffsetDateTime.of(-3, 6, 15, 12, 30, 0, 500, ZoneOffset.UTC),
+            OffsetDateTime.of(-12345, 6, 15, 12, 30, 0, 0, ZoneOffset.UTC),
+            OffsetDateTime.MAX,
+            OffsetDateTime.MIN,
+            OffsetDateTime.of(2019, 7, 1, 9, 0, 0, 0, ZoneOffset.ofHoursMinutes(5, 30)),
+            OffsetDateTime.of(2019, 7, 1, 9, 0, 0, 0, ZoneOffset.ofHoursMinutesSeconds(-3, -15, -20)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void encode_producesSameTextAsIsoOffsetDateTime(OffsetDateTime value) {
+        Assert.assertThat(encode(value), equalTo(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value)));
+    }
+
+    @Test
+    void encode_withSameDateRepeated_reusesDateButNotTime() {
+        OffsetDateTime morning = OffsetDateTime.of(2019, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime evening = OffsetDateTime.of(2019, 7, 1, 21, 30, 15, 0, ZoneOffset.UTC);
+        OffsetDateTime nextDay = OffsetDateTime.of(2019, 7, 2, 9, 0, 0, 0, ZoneOffset.UTC);
+
+        Assert.assertThat(encode(morning), equalTo("2019-07-01T09:00:00Z"));
+        Assert.assertThat(encode(evening), equalTo("2019-07-01T21:30:15Z"));
+        Assert.assertThat(encode(nextDay), equalTo("2019-07-02T09:00:00Z"));
+        Assert.assertThat(encode(morning), equalTo("2019-07-01T09:00:00Z"));
+    }
+
+    @Test
+    void encode_atOffsetInBuffer_writesFromThatPosition() {
+        byte[] buffer = new byte[IsoDateTimeEncoder.MAX_LENGTH + 3];
+        buffer[0] = 'x';
+
+        int end = encoder.encode(OffsetDateTime.of(2019, 7, 1, 9, 0, 0, 0, ZoneOffset.UTC), buffer, 1);
+
+        Assert.assertThat(new String(buffer, 0, end, StandardCharsets.UTF_8), equalTo("x2019-07-01T09:00:00Z"));
+    }
+
+    private String encode(OffsetDateTime value) {
+        byte[] buffer = new byte[IsoDateTimeEncoder.MAX_LENGTH];
+        int length = encoder.encode(value, buffer, 0);
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+}
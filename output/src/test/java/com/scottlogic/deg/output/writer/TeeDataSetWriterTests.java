@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
+import com.scottlogic.deg.common.profile.ProfileFields;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.scottlogic.deg.common.profile.FieldBuilder.createField;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class TeeDataSetWriterTests {
+    private final Field first = createField("first");
+    private final Field second = createField("second");
+    private final ProfileFields fields = new ProfileFields(Arrays.asList(first, second));
+
+    @Test
+    void writeRow_withSeveralWriters_formatsEachValueOnceAndWritesToAllWriters() throws IOException {
+        RecordingWriter csv = new RecordingWriter();
+        RecordingWriter json = new RecordingWriter();
+        GeneratedObject row = mock(GeneratedObject.class);
+        when(row.getFormattedValue(first)).thenReturn("a");
+        when(row.getFormattedValue(second)).thenReturn(1);
+
+        TeeDataSetWriter writer = new TeeDataSetWriter(fields, Arrays.asList(csv, json));
+        writer.writeRow(row);
+
+        verify(row, times(1)).getFormattedValue(first);
+        verify(row, times(1)).getFormattedValue(second);
+        Assert.assertThat(csv.values, contains("a", 1));
+        Assert.assertThat(json.values, contains("a", 1));
+    }
+
+    @Test
+    void writeRow_lookingUpEqualField_returnsItsValue() throws IOException {
+        RecordingWriter writer = new RecordingWriter();
+        writer.fields = Arrays.asList(createField("second"), createField("first"));
+        GeneratedObject row = mock(GeneratedObject.class);
+        when(row.getFormattedValue(first)).thenReturn("a");
+        when(row.getFormattedValue(second)).thenReturn("b");
+
+        new TeeDataSetWriter(fields, Arrays.asList(writer)).writeRow(row);
+
+        Assert.assertThat(writer.values, contains("b", "a"));
+    }
+
+    @Test
+    void close_whenOneWriterFails_closesTheOthersAndRethrows() {
+        RecordingWriter failing = new RecordingWriter();
+        failing.failOnClose = true;
+        RecordingWriter other = new RecordingWriter();
+
+        TeeDataSetWriter writer = new TeeDataSetWriter(fields, Arrays.asList(failing, other));
+
+        assertThrows(IOException.class, writer::close);
+        Assert.assertThat(failing.closed, is(true));
+        Assert.assertThat(other.closed, is(true));
+    }
+
+    private class RecordingWriter implements DataSetWriter {
+        final List<Object> values = new ArrayList<>();
+        List<Field> fields = TeeDataSetWriterTests.this.fields.asList();
+        boolean failOnClose;
+        boolean closed;
+
+        @Override
+        public void writeRow(GeneratedObject row) {
+            for (Field field : fields) {
+                values.add(row.getFormattedValue(field));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            if (failOnClose) {
+                throw new IOException("disk full");
+            }
+        }
+    }
+}
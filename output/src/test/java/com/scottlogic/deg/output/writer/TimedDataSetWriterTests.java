@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer;
+
+import com.scottlogic.deg.common.metrics.GenerationMetrics;
+import com.scottlogic.deg.common.metrics.GenerationStage;
+import com.scottlogic.deg.common.metrics.StageTimer;
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.scottlogic.deg.common.profile.FieldBuilder.createField;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+class TimedDataSetWriterTests {
+    private final Field field = createField("foo");
+
+    @Test
+    void writeRow_countsEveryRowAndTimesFormattingForTheSameSample() throws IOException {
+        GenerationMetrics metrics = new GenerationMetrics();
+        List<Object> written = new ArrayList<>();
+        DataSetWriter underlying = new DataSetWriter() {
+            @Override
+            public void writeRow(GeneratedObject row) {
+                written.add(row.getFormattedValue(field));
+            }
+
+            @Override
+            public void close() { }
+        };
+        GeneratedObject row = mock(GeneratedObject.class);
+        when(row.getFormattedValue(field)).thenReturn("a");
+
+        TimedDataSetWriter writer = new TimedDataSetWriter(underlying, metrics);
+        for (int i = 0; i < 1000; i++) {
+            writer.writeRow(row);
+        }
+
+        StageTimer writing = metrics.stage(GenerationStage.WRITING);
+        StageTimer formatting = metrics.stage(GenerationStage.FORMATTING);
+        Assert.assertThat(written, hasSize(1000));
+        Assert.assertThat(written, everyItem(equalTo((Object) "a")));
+        Assert.assertThat(writing.getCalls(), equalTo(1000L));
+        Assert.assertThat(formatting.getCalls(), equalTo(1000L));
+        Assert.assertThat(formatting.getSampledCalls(), equalTo(writing.getSampledCalls()));
+    }
+
+    @Test
+    void close_closesUnderlyingWriter() throws IOException {
+        DataSetWriter underlying = mock(DataSetWriter.class);
+
+        new TimedDataSetWriter(underlying, new GenerationMetrics()).close();
+
+        verify(underlying).close();
+    }
+}
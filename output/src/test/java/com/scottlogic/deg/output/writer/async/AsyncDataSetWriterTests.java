@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer.async;
+
+import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.output.writer.DataSetWriter;
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class AsyncDataSetWriterTests {
+    private final WriterBackpressure backpressure = new WriterBackpressure();
+
+    @Test
+    void close_afterWritingRows_writesAllRowsInOrderOnAnotherThread() throws IOException {
+        RecordingWriter delegate = new RecordingWriter();
+        List<GeneratedObject> rows = rows(1000);
+
+        AsyncDataSetWriter writer = new AsyncDataSetWriter(delegate, 16, 4, backpressure);
+        for (GeneratedObject row : rows) {
+            writer.writeRow(row);
+        }
+        writer.close();
+
+        Assert.assertThat(delegate.rows, equalTo(rows));
+        Assert.assertThat(delegate.closed, is(true));
+        Assert.assertThat(delegate.writingThread, not(sameInstance(Thread.currentThread())));
+        Assert.assertThat(backpressure.getBatchesWritten(), equalTo(63L));
+    }
+
+    @Test
+    void close_withNoRows_closesUnderlyingWriter() throws IOException {
+        RecordingWriter delegate = new RecordingWriter();
+
+        new AsyncDataSetWriter(delegate, 16, 4, backpressure).close();
+
+        Assert.assertThat(delegate.rows, empty());
+        Assert.assertThat(delegate.closed, is(true));
+    }
+
+    @Test
+    void writeRow_afterUnderlyingWriterFails_rethrowsFailure() {
+        RecordingWriter delegate = new RecordingWriter();
+        delegate.failAfter = 5;
+
+        AsyncDataSetWriter writer = new AsyncDataSetWriter(delegate, 1, 1, backpressure);
+
+        IOException thrown = assertThrows(IOException.class, () -> {
+            try {
+                for (GeneratedObject row : rows(10_000)) {
+                    writer.writeRow(row);
+                }
+            } finally {
+                writer.close();
+            }
+        });
+        Assert.assertThat(thrown.getCause().getMessage(), equalTo("disk full"));
+        Assert.assertThat(delegate.closed, is(true));
+    }
+
+    @Test
+    void close_whenUnderlyingWriterFailsOnLastBatch_rethrowsFailure() {
+        RecordingWriter delegate = new RecordingWriter();
+        delegate.failAfter = 0;
+
+        AsyncDataSetWriter writer = new AsyncDataSetWriter(delegate, 16, 4, backpressure);
+
+        assertThrows(IOException.class, () -> {
+            writer.writeRow(mock(GeneratedObject.class));
+            writer.close();
+        });
+    }
+
+    @Test
+    void close_whenUnderlyingWriterFailsToClose_rethrowsFailure() {
+        RecordingWriter delegate = new RecordingWriter();
+        delegate.failOnClose = true;
+
+        AsyncDataSetWriter writer = new AsyncDataSetWriter(delegate, 16, 4, backpressure);
+
+        IOException thrown = assertThrows(IOException.class, () -> {
+            writer.writeRow(mock(GeneratedObject.class));
+            writer.close();
+        });
+        Assert.assertThat(thrown.getCause().getMessage(), equalTo("disk full"));
+    }
+
+    @Test
+    void writeRow_whenWriterIsSlow_blocksGenerationUntilThereIsRoom() throws IOException {
+        RecordingWriter delegate = new RecordingWriter();
+        delegate.delayMillis = 1;
+
+        AsyncDataSetWriter writer = new AsyncDataSetWriter(delegate, 1, 1, backpressure);
+        for (GeneratedObject row : rows(50)) {
+            writer.writeRow(row);
+        }
+        writer.close();
+
+        Assert.assertThat(delegate.rows, hasSize(50));
+        Assert.assertThat(backpressure.getProducerStalls(), greaterThan(0L));
+    }
+
+    private static List<GeneratedObject> rows(int count) {
+        List<GeneratedObject> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(mock(GeneratedObject.class));
+        }
+        return rows;
+    }
+
+    private static class RecordingWriter implements DataSetWriter {
+        final List<GeneratedObject> rows = new ArrayList<>();
+        int failAfter = Integer.MAX_VALUE;
+        boolean failOnClose;
+        long delayMillis;
+        volatile boolean closed;
+        volatile Thread writingThread;
+
+        @Override
+        public void writeRow(GeneratedObject row) throws IOException {
+            writingThread = Thread.currentThread();
+            if (rows.size() == failAfter) {
+                throw new IOException("disk full");
+            }
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+            rows.add(row);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            if (failOnClose) {
+                throw new IOException("disk full");
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.deg.output.writer.csv;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.QuoteMode;
+import org.junit.Assert;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.equalTo;
+
+class CsvEncoderTests {
+    private static Stream<Object> values() {
+        return Stream.of(
+            null,
+            "",
+            "plain",
+            " padded ",
+            "a,b",
+            "say \"hi\"",
+            "line\nbreak\r\nand return",
+            "nul\0char",
+            "café € 😀",
+            "unpaired \ud83d surrogate",
+            repeat("long value, with \"specials\" and é ", 20),
+            0,
+            -42,
+            Long.MAX_VALUE,
+            Long.MIN_VALUE,
+            (short) 7,
+            1.2f,
+            3.5d,
+            true,
+            new BigDecimal("0"),
+            new BigDecimal("0.000"),
+            new BigDecimal("0.00000001"),
+            new BigDecimal("-0.5"),
+            new BigDecimal("123.456"),
+            new BigDecimal("-98765.43210"),
+            new BigDecimal("1E+5"),
+            new BigDecimal("12345678901234567890.123456789"),
+            new BigDecimal(Long.MAX_VALUE).movePointLeft(3),
+            new BigDecimal("1E-100"),
+            new BigDecimal("-1E-61"),
+            OffsetDateTime.of(2001, 2, 3, 4, 5, 6, 0, ZoneOffset.UTC),
+            OffsetDateTime.of(2001, 2, 3, 4, 5, 6, 777_000_000, ZoneOffset.UTC),
+            OffsetDateTime.of(1, 1, 1, 0, 0, 0, 1, ZoneOffset.UTC),
+            OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 120_000_000, ZoneOffset.UTC),
+            OffsetDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+            OffsetDateTime.of(-3, 6, 15, 12, 30, 0, 500, ZoneOffset.UTC),
+            OffsetDateTime.of(2019, 7, 1, 9, 0, 0, 0, ZoneOffset.ofHoursMinutes(5, 30)),
+            OffsetDateTime.of(2019, 7, 1, 9, 0, 0, 0, ZoneOffset.ofHoursMinutesSeconds(-3, -15, -20)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void writeValue_producesSameBytesAsCommonsCsv(Object value) throws IOException {
+        Object[] row = { value, "next", value };
+
+        Assert.assertThat(encode(row, 8192), equalTo(encodeWithCommonsCsv(row)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void writeValue_withSmallBuffer_producesSameBytesAsCommonsCsv(Object value) throws IOException {
+        Object[] row = { value, value, value, value };
+
+        Assert.assertThat(encode(row, 64), equalTo(encodeWithCommonsCsv(row)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void writeValue_withMinimumBuffer_producesSameBytesAsCommonsCsv(Object value) throws IOException {
+        Object[] row = { value, value, value, value };
+
+        Assert.assertThat(encode(row, 0), equalTo(encodeWithCommonsCsv(row)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void writeEncoded_withPreviouslyEncodedValues_producesSameBytesAsCommonsCsv(Object value) throws IOException {
+        Object[] row = { value, value, value, value };
+
+        Assert.assertThat(encode(row, 64, true), equalTo(encodeWithCommonsCsv(row)));
+    }
+
+    private static byte[] encode(Object[] row, int bufferSize) throws IOException {
+        return encode(row, bufferSize, false);
+    }
+
+    private static byte[] encode(Object[] row, int bufferSize, boolean preEncode) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (CsvEncoder encoder = new CsvEncoder(stream, bufferSize)) {
+            encoder.writeUnquoted("header, one");
+            encoder.writeUnquoted("header \"two\"");
+            encoder.endRecord();
+            for (Object value : row) {
+                if (preEncode) {
+                    encoder.writeEncoded(CsvEncoder.encode(value));
+                } else {
+                    encoder.writeValue(value);
+                }
+            }
+            encoder.endRecord();
+        }
+        return stream.toByteArray();
+    }
+
+    /** The formatting CsvDataSetWriter did before it had its own encoder */
+    private static byte[] encodeWithCommonsCsv(Object[] row) throws IOException {
+        CSVFormat stringFormat = CSVFormat.RFC4180.withQuoteMode(QuoteMode.ALL);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+        try (CSVPrinter printer = CSVFormat.RFC4180
+            .withEscape('\0')
+            .withQuoteMode(QuoteMode.NONE)
+            .withHeader("header, one", "header \"two\"")
+            .print(writer)) {
+            printer.printRecord(Arrays.stream(row)
+                .map(value -> {
+                    if (value instanceof BigDecimal) {
+                        return ((BigDecimal) value).toPlainString();
+                    }
+                    if (value instanceof OffsetDateTime) {
+                        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format((OffsetDateTime) value);
+                    }
+                    if (value instanceof String) {
+                        return stringFormat.format(value);
+                    }
+                    return value;
+                })
+                .toArray());
+        }
+        return stream.toByteArray();
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+}
@@ -20,6 +20,7 @@ import com.scottlogic.deg.common.profile.FieldBuilder;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.common.output.GeneratedObject;
 import com.scottlogic.deg.output.writer.DataSetWriter;
+import com.scottlogic.deg.output.writer.FlushPolicy;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
@@ -94,6 +95,44 @@ class CsvOutputWriterFactoryTests {
             Matchers.containsString("2001-02-03T04:05:06.777Z"));
     }
 
+    @Test
+    void writeRow_withOnCloseFlushPolicy_shouldNotWriteToStreamUntilClosed() throws IOException {
+        ProfileFields fields = fields("my_string");
+        GeneratedObject row = mock(GeneratedObject.class);
+        when(row.getFormattedValue(eq(fields.iterator().next()))).thenReturn("value");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        DataSetWriter writer = new CsvOutputWriterFactory(FlushPolicy.ON_CLOSE, 8192).createWriter(stream, fields);
+        writer.writeRow(row);
+        writer.writeRow(row);
+
+        Assert.assertThat(stream.size(), Matchers.equalTo(0));
+
+        writer.close();
+
+        Assert.assertThat(
+            stream.toString(StandardCharsets.UTF_8.name()).replace("\r\n", "\n"),
+            Matchers.equalTo("my_string\n\"value\"\n\"value\"\n"));
+    }
+
+    @Test
+    void writeRow_withRowFlushPolicy_shouldWriteToStreamOnceThresholdReached() throws IOException {
+        ProfileFields fields = fields("my_string");
+        GeneratedObject row = mock(GeneratedObject.class);
+        when(row.getFormattedValue(eq(fields.iterator().next()))).thenReturn("value");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        try (DataSetWriter writer = new CsvOutputWriterFactory(new FlushPolicy(2, 0, 0), 8192).createWriter(stream, fields)) {
+            writer.writeRow(row);
+            Assert.assertThat(stream.size(), Matchers.equalTo(0));
+
+            writer.writeRow(row);
+            Assert.assertThat(
+                stream.toString(StandardCharsets.UTF_8.name()).replace("\r\n", "\n"),
+                Matchers.equalTo("my_string\n\"value\"\n\"value\"\n"));
+        }
+    }
+
     private static ProfileFields fields(String ...names) {
         return new ProfileFields(
             Arrays.stream(names)
@@ -114,7 +153,7 @@ class CsvOutputWriterFactoryTests {
     private static String generateCsv(ProfileFields fields, GeneratedObject generatedObject) throws IOException {
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
-        try (DataSetWriter writer = new CsvOutputWriterFactory().createWriter(stream, fields)) {
+        try (DataSetWriter writer = new CsvOutputWriterFactory(FlushPolicy.ON_CLOSE, 8192).createWriter(stream, fields)) {
             writer.writeRow(generatedObject);
         }
 
@@ -1,9 +1,11 @@
 package com.scottlogic.deg.output.writer.json;
 
 import com.scottlogic.deg.common.output.GeneratedObject;
+import com.scottlogic.deg.common.profile.Field;
 import com.scottlogic.deg.common.profile.FieldBuilder;
 import com.scottlogic.deg.common.profile.ProfileFields;
 import com.scottlogic.deg.output.writer.DataSetWriter;
+import com.scottlogic.deg.output.writer.FlushPolicy;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
@@ -11,8 +13,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -34,6 +41,29 @@ class JsonOutputWriterFactoryTest {
             Matchers.equalTo("[ {\n  \"my_field\" : \"my_value\"\n}, {\n  \"my_field\" : \"my_value\"\n} ]"));
     }
 
+    @Test
+    void writer_withSeveralFields_shouldOutputValuesInProfileOrder() throws IOException {
+        ProfileFields fields = new ProfileFields(Arrays.asList(
+            FieldBuilder.createField("z_string"),
+            FieldBuilder.createField("a_number"),
+            FieldBuilder.createField("m_date"),
+            FieldBuilder.createField("b_null")));
+        GeneratedObject row = mock(GeneratedObject.class);
+        Iterator<Field> fieldIterator = fields.iterator();
+        when(row.getFormattedValue(eq(fieldIterator.next()))).thenReturn("say \"hi\"");
+        when(row.getFormattedValue(eq(fieldIterator.next()))).thenReturn(new BigDecimal("1.50"));
+        when(row.getFormattedValue(eq(fieldIterator.next())))
+            .thenReturn(OffsetDateTime.of(2001, 2, 3, 4, 5, 6, 777_000_000, ZoneOffset.UTC));
+
+        String json = generateJson(fields, row, true);
+
+        Assert.assertThat(json, Matchers.equalTo(
+            "{\n  \"z_string\" : \"say \\\"hi\\\"\",\n  \"a_number\" : 1.50,\n" +
+            "  \"m_date\" : \"2001-02-03T04:05:06.777Z\",\n  \"b_null\" : null\n}\n" +
+            "{\n  \"z_string\" : \"say \\\"hi\\\"\",\n  \"a_number\" : 1.50,\n" +
+            "  \"m_date\" : \"2001-02-03T04:05:06.777Z\",\n  \"b_null\" : null\n}"));
+    }
+
     private static void expectJson(boolean useNdJson, Matcher<String> matcher) throws IOException {
         //Arrange
         ProfileFields fields = new ProfileFields(Collections.singletonList(FieldBuilder.createField("my_field")));
@@ -51,7 +81,7 @@ class JsonOutputWriterFactoryTest {
     private static String generateJson(ProfileFields fields, GeneratedObject generatedObject, boolean useNdJson) throws IOException {
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
-        try (DataSetWriter writer = new JsonOutputWriterFactory(useNdJson).createWriter(stream, fields)) {
+        try (DataSetWriter writer = new JsonOutputWriterFactory(useNdJson, FlushPolicy.ON_CLOSE).createWriter(stream, fields)) {
             writer.writeRow(generatedObject);
             writer.writeRow(generatedObject);
         }
@@ -24,17 +24,25 @@ import com.scottlogic.deg.profile.reader.file.CsvInputStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.scottlogic.deg.common.profile.constraints.atomic.NameConstraintTypes.*;
 
 public final class NameRetriever {
+    // the name lists are the same for every profile, and combining first with last names for full names is costly
+    private static final Map<NameConstraintTypes, DistributedList<Object>> namesCache = new ConcurrentHashMap<>();
 
     private NameRetriever() {
         throw new UnsupportedOperationException("No static class instantiation");
     }
 
     public static DistributedList<Object> loadNamesFromFile(NameConstraintTypes configuration) {
+        return namesCache.computeIfAbsent(configuration, NameRetriever::readNames);
+    }
+
+    private static DistributedList<Object> readNames(NameConstraintTypes configuration) {
         if (configuration == FULL) {
             return downcastToObject(combineFirstWithLastNames(
                 generateNamesFromSingleFile(FIRST.getFilePath()),